@@ -0,0 +1,54 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Measures the original per-card dashboard statistics queries with and without the statement cache.
+// Needs the MySQL database configured in DBConnection. Run with: ant bench
+public class DashboardRefreshBenchmark {
+    private static final String[] STATS_QUERIES = {
+        "SELECT COUNT(*) FROM clients",
+        "SELECT COUNT(*) FROM campaigns",
+        "SELECT SUM(amount) FROM payments WHERE status = 'Paid'",
+        "SELECT SUM(amount) FROM payments WHERE status = 'Pending'"
+    };
+    private static final String CLIENT_LOOKUP = "SELECT client_id FROM clients WHERE name = ?";
+
+    public static void main(String[] args) throws SQLException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int warmup = iterations / 4;
+
+        for (boolean cached : new boolean[]{false, true}) {
+            StatementCache.setEnabled(cached);
+            runRefreshes(warmup);
+            StatementCache.resetStats();
+            long start = System.nanoTime();
+            runRefreshes(iterations);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("statement cache %-3s: %,d refreshes in %,d ms (%.1f us/refresh) %s%n",
+                    cached ? "on" : "off", iterations, elapsed / 1_000_000,
+                    elapsed / 1_000.0 / iterations, StatementCache.getStats());
+        }
+        System.out.println("pool: " + DBConnection.getPool().getStats());
+    }
+
+    // One dashboard refresh: the four stats queries plus a dialog-style name lookup
+    private static void runRefreshes(int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            for (String sql : STATS_QUERIES) {
+                try (Connection conn = DBConnection.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql);
+                     ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                }
+            }
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(CLIENT_LOOKUP)) {
+                stmt.setString(1, "client-" + (i % 100));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,406 @@
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills the six application tables with realistic, referentially consistent test data.
+// Clients are generated in chunks; each chunk is written by one of --threads writers on its own
+// connection, with multi-row INSERTs (--rows-per-insert rows per statement) and one commit per chunk.
+// Client IDs are assigned up front (after the current maximum), so a chunk's campaigns, payments,
+// feedback, change requests and requirements can reference its clients without reading anything back.
+// The data depends only on --seed and --clients, not on the number of threads.
+//
+// Per client: campaigns and payments follow a skewed (log-normal) distribution, so most clients
+// have a few and some have hundreds; every client has at least one requirement (as registration
+// does). Dates spread over --years years, weighted towards recent ones.
+//
+// Runs against the database configured in DBConnection unless --url is given, e.g. an embedded
+// stand-in (H2 in MySQL mode, from the JMH libraries; --schema creates the tables first; always one writer):
+//   ant bench -Dbench.class=DataGenerator -Dbench.args="--clients=1000000 --threads=8"
+//   ant bench -Dbench.class=DataGenerator -Dbench.args="--clients=100000 --schema=bench/jmh/socialpixel/jmh/schema.sql
+//       --url=jdbc:h2:file:./build/socialpixel;MODE=MySQL;DATABASE_TO_LOWER=TRUE --user=sa --password="
+public class DataGenerator {
+    private static final int CHUNK_CLIENTS = 5_000;
+    private static final long PROGRESS_INTERVAL_MS = 5_000;
+
+    private static final String[] FIRST_WORDS = {
+        "Blue", "Golden", "Silver", "Green", "Royal", "Urban", "Lanka", "Ocean", "Summit", "Bright",
+        "Red", "Island", "Lotus", "Coral", "Peak", "Metro", "Harbor", "Spice", "Tea", "Sun"
+    };
+    private static final String[] SECOND_WORDS = {
+        "Harbor", "Leaf", "Crest", "Valley", "Bay", "Line", "Point", "Bridge", "Garden", "Stone",
+        "Wave", "Field", "Path", "Gate", "Tower", "River", "Hill", "Lake", "Star", "Craft"
+    };
+    private static final String[] SUFFIXES = {"Foods", "Holdings", "Traders", "Studios", "Apparel", "Tech", "Clinic", "Academy", "Hotels", "Motors"};
+    private static final String[] INDUSTRIES = {"Retail", "Food & Beverage", "Fashion", "Technology", "Healthcare", "Education", "Hospitality", "Automotive", "Real Estate", "Finance"};
+    private static final double[] INDUSTRY_WEIGHTS = {0.20, 0.18, 0.14, 0.12, 0.08, 0.08, 0.08, 0.05, 0.04, 0.03};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "sltnet.lk", "company.lk"};
+    private static final String[] CAMPAIGN_TYPES = {"Awareness", "Launch", "Seasonal Sale", "Festive", "Brand Refresh", "Lead Generation", "Retargeting", "Influencer"};
+    private static final String[] FEEDBACK = {
+        "Engagement on the last posts was great, thank you!",
+        "Could we get the weekly report on Mondays instead?",
+        "The new creatives look a bit off-brand, please review the colours.",
+        "Very happy with the campaign results so far.",
+        "Please reply to customer comments faster."
+    };
+    private static final String[] CHANGES = {
+        "Please change the campaign end date.",
+        "Update the logo used in the cover photos.",
+        "Swap the second ad creative for the new one we sent.",
+        "Add Instagram Reels to the current plan."
+    };
+    private static final String[] REQUIREMENTS = {
+        "Three posts per week on Facebook and Instagram",
+        "Monthly performance report",
+        "Paid ads targeting Colombo and Kandy",
+        "Content calendar for the festive season",
+        "TikTok account setup and management"
+    };
+    private static final String[] REPLIES = {"Thanks, noted.", "Done - please check.", "We will update this by Friday.", "Agreed."};
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int clients;
+    private final int threads;
+    private final int rowsPerInsert;
+    private final int years;
+    private final long seed;
+    private final LocalDate today = LocalDate.now();
+    private final AtomicLong clientsWritten = new AtomicLong();
+    private final Map<String, AtomicLong> rowsWritten = new LinkedHashMap<>(); // Filled in the constructor, then read-only
+
+    private DataGenerator(Map<String, String> options) {
+        url = options.getOrDefault("url", DBConnection.URL);
+        user = options.getOrDefault("user", DBConnection.USER);
+        password = options.getOrDefault("password", DBConnection.PASSWORD);
+        clients = Integer.parseInt(options.getOrDefault("clients", "10000"));
+        int requested = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        if (url.startsWith("jdbc:h2:") && requested > 1) {
+            // H2 hands out duplicate identity values to concurrent multi-row inserts on the same table
+            System.out.println("H2 does not support parallel writers here, using one");
+            requested = 1;
+        }
+        threads = requested;
+        rowsPerInsert = Integer.parseInt(options.getOrDefault("rows-per-insert", "500"));
+        years = Integer.parseInt(options.getOrDefault("years", "5"));
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        for (String table : new String[]{"clients", "campaigns", "payments", "feedback", "change_requests", "requirements"}) {
+            rowsWritten.put(table, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        DataGenerator generator = new DataGenerator(options);
+        if (options.containsKey("schema")) generator.createSchema(Path.of(options.get("schema")));
+        generator.run();
+    }
+
+    private void createSchema(Path file) throws Exception {
+        StringBuilder ddl = new StringBuilder();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (!line.strip().startsWith("--")) ddl.append(line).append('\n');
+        }
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            for (String statement : ddl.toString().split(";")) {
+                if (!statement.isBlank()) stmt.execute(statement);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        int firstId;
+        try (Connection conn = connect();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(client_id), 0) + 1 FROM clients")) {
+            rs.next();
+            firstId = rs.getInt(1);
+        }
+        System.out.printf("Generating %,d clients from client_id %,d with %d writer(s)%n", clients, firstId, threads);
+
+        long start = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "generator-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        progress.scheduleAtFixedRate(() -> report(start), PROGRESS_INTERVAL_MS, PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int offset = 0, chunk = 0; offset < clients; offset += CHUNK_CLIENTS, chunk++) {
+            int chunkFirst = firstId + offset;
+            int count = Math.min(CHUNK_CLIENTS, clients - offset);
+            long chunkSeed = seed * 1_000_003L + chunk;
+            chunks.add(writers.submit(() -> {
+                writeChunk(chunkFirst, count, chunkSeed);
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> chunk : chunks) chunk.get(); // Rethrows the first failure
+        } finally {
+            writers.shutdownNow();
+            progress.shutdownNow();
+        }
+        if (url.startsWith("jdbc:h2:")) {
+            // H2 does not move an identity column past explicitly inserted values
+            try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE clients ALTER COLUMN client_id RESTART WITH " + (firstId + clients));
+            }
+        }
+        report(start);
+        System.out.println("Done.");
+    }
+
+    private void report(long start) {
+        long total = rowsWritten.values().stream().mapToLong(AtomicLong::get).sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%,d/%,d clients, %,d rows in %.0f s (%,.0f rows/s) %s%n",
+                clientsWritten.get(), clients, total, seconds, total / Math.max(seconds, 1e-3), rowsWritten);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    // Write clients [first, first + count) and everything that belongs to them, in one transaction
+    private void writeChunk(int first, int count, long chunkSeed) throws SQLException {
+        Random random = new Random(chunkSeed);
+        MessageDigest sha256 = sha256();
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (MultiRowInsert clientRows = insert(conn, "clients", "client_id", "nic", "nic_encrypted", "name", "email", "phone",
+                         "contact_info", "industry", "username", "password");
+                 MultiRowInsert campaignRows = insert(conn, "campaigns", "name", "title", "client_id", "start_date", "end_date", "status");
+                 MultiRowInsert paymentRows = insert(conn, "payments", "client_id", "amount", "payment_date", "method", "status");
+                 MultiRowInsert feedbackRows = insert(conn, "feedback", "client_id", "client_name", "message", "reply", "submitted_at");
+                 MultiRowInsert changeRows = insert(conn, "change_requests", "client_id", "client_name", "message", "reply", "submitted_at");
+                 MultiRowInsert requirementRows = insert(conn, "requirements", "client_id", "requirement", "admin_response", "submitted_at")) {
+                // All clients first, so the other tables' rows never reference a client that is not written yet
+                String[] names = new String[count];
+                LocalDate[] joined = new LocalDate[count];
+                for (int i = 0; i < count; i++) {
+                    int id = first + i;
+                    names[i] = companyName(random);
+                    joined[i] = recentDate(random, today.minusYears(years), today);
+                    String username = names[i].toLowerCase().replaceAll("[^a-z]", "").substring(0, 6) + id;
+                    String phone = String.format("07%d%07d", random.nextInt(9), random.nextInt(10_000_000));
+                    String nic = nic(id, random);
+                    clientRows.add(id, nic, HexFormat.of().formatHex(sha256.digest(nic.getBytes(StandardCharsets.UTF_8))),
+                            names[i], random.nextInt(10) < 8 ? username + "@" + pick(random, DOMAINS) : null, phone, phone,
+                            weighted(random, INDUSTRIES, INDUSTRY_WEIGHTS), username, password(random));
+                }
+                clientRows.flush();
+                for (int i = 0; i < count; i++) {
+                    int id = first + i;
+                    int campaigns = skewed(random, 3, 200);
+                    for (int c = 0; c < campaigns; c++) addCampaign(campaignRows, random, id, joined[i]);
+                    int payments = campaigns * 2 + skewed(random, 1, 50);
+                    for (int p = 0; p < payments; p++) addPayment(paymentRows, random, id, joined[i]);
+                    for (int f = skewed(random, 1, 30) - 1; f > 0; f--) {
+                        addMessage(feedbackRows, random, id, names[i], FEEDBACK, joined[i]);
+                    }
+                    if (random.nextInt(3) == 0) addMessage(changeRows, random, id, names[i], CHANGES, joined[i]);
+                    int requirements = 1 + (random.nextInt(4) == 0 ? skewed(random, 1, 10) : 0);
+                    for (int r = 0; r < requirements; r++) {
+                        LocalDateTime at = timestamp(random, joined[i]);
+                        requirementRows.add(id, pick(random, REQUIREMENTS), isAnswered(random, at) ? pick(random, REPLIES) : null,
+                                Timestamp.valueOf(at));
+                    }
+                }
+            }
+            conn.commit();
+        }
+        clientsWritten.addAndGet(count);
+    }
+
+    private void addCampaign(MultiRowInsert rows, Random random, int clientId, LocalDate joined) throws SQLException {
+        LocalDate start = recentDate(random, joined, today.plusDays(60));
+        LocalDate end = start.plusDays(7 + random.nextInt(114));
+        String status;
+        if (start.isAfter(today)) {
+            status = "Planning";
+        } else if (end.isBefore(today)) {
+            status = random.nextInt(100) < 88 ? "Completed" : "Cancelled";
+        } else {
+            status = random.nextInt(100) < 93 ? "Active" : "Cancelled";
+        }
+        String name = pick(random, CAMPAIGN_TYPES) + " " + start.getYear();
+        rows.add(name, name, clientId, Date.valueOf(start), Date.valueOf(end), status);
+    }
+
+    private void addPayment(MultiRowInsert rows, Random random, int clientId, LocalDate joined) throws SQLException {
+        LocalDate date = recentDate(random, joined, today);
+        // Log-normal amounts: median around Rs. 25,000 with a long tail of large retainers
+        double amount = Math.min(2_000_000, Math.exp(Math.log(25_000) + 0.9 * random.nextGaussian()));
+        int roll = random.nextInt(100);
+        String method = roll < 55 ? "Card" : roll < 85 ? "Bank Transfer" : "Cash";
+        boolean recent = date.isAfter(today.minusDays(30));
+        String status = random.nextInt(100) < (recent ? 40 : 3) ? "Pending" : "Paid";
+        rows.add(clientId, BigDecimal.valueOf(Math.round(amount * 100), 2), Date.valueOf(date), method, status);
+    }
+
+    private void addMessage(MultiRowInsert rows, Random random, int clientId, String clientName, String[] messages,
+                            LocalDate joined) throws SQLException {
+        LocalDateTime at = timestamp(random, joined);
+        rows.add(clientId, clientName, pick(random, messages), isAnswered(random, at) ? pick(random, REPLIES) : null, Timestamp.valueOf(at));
+    }
+
+    // Older messages have almost always been answered, the last week's mostly not
+    private boolean isAnswered(Random random, LocalDateTime at) {
+        return random.nextInt(100) < (at.isAfter(today.minusDays(7).atStartOfDay()) ? 20 : 85);
+    }
+
+    private MultiRowInsert insert(Connection conn, String table, String... columns) {
+        return new MultiRowInsert(conn, table, columns, rowsPerInsert, rowsWritten.get(table));
+    }
+
+    // Count with mean about 'mean' and a long tail, at most 'max': most clients get a few, some get many
+    private static int skewed(Random random, double mean, int max) {
+        double sigma = 1.0;
+        double mu = Math.log(mean) - sigma * sigma / 2;
+        return (int) Math.min(max, Math.round(Math.exp(mu + sigma * random.nextGaussian())));
+    }
+
+    // A day in [from, to], more likely the closer to 'to' (the business has been growing)
+    private static LocalDate recentDate(Random random, LocalDate from, LocalDate to) {
+        long span = to.toEpochDay() - from.toEpochDay();
+        if (span <= 0) return from;
+        return from.plusDays((long) (span * Math.sqrt(random.nextDouble())));
+    }
+
+    // A moment after 'joined', mostly within office hours
+    private LocalDateTime timestamp(Random random, LocalDate joined) {
+        LocalDate day = recentDate(random, joined, today);
+        int hour = random.nextInt(10) < 8 ? 8 + random.nextInt(10) : random.nextInt(24);
+        return day.atTime(hour, random.nextInt(60), random.nextInt(60));
+    }
+
+    private static String companyName(Random random) {
+        return pick(random, FIRST_WORDS) + " " + pick(random, SECOND_WORDS) + " " + pick(random, SUFFIXES);
+    }
+
+    // Unique per client ID: a third in the old 9-digit + V format, the rest in the new 12-digit one
+    private static String nic(int id, Random random) {
+        if (id % 3 == 0 && id < 1_000_000_000) return String.format("%09dV", id);
+        return String.format("%04d%08d", 1955 + random.nextInt(50), id);
+    }
+
+    private static String password(Random random) {
+        String chars = "abcdefghijkmnpqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+        StringBuilder out = new StringBuilder(10);
+        for (int i = 0; i < 10; i++) out.append(chars.charAt(random.nextInt(chars.length())));
+        return out.toString();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String weighted(Random random, String[] values, double[] weights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) return values[i];
+        }
+        return values[values.length - 1];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Buffers rows for one table and writes them with INSERT ... VALUES (...), (...), ... statements
+    private static final class MultiRowInsert implements AutoCloseable {
+        private final Connection conn;
+        private final String table;
+        private final String[] columns;
+        private final int rowsPerStatement;
+        private final AtomicLong written;
+        private final List<Object> buffered = new ArrayList<>();
+        private PreparedStatement full; // Prepared once for a full buffer and reused
+
+        MultiRowInsert(Connection conn, String table, String[] columns, int rowsPerStatement, AtomicLong written) {
+            this.conn = conn;
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerStatement = rowsPerStatement;
+            this.written = written;
+        }
+
+        void add(Object... row) throws SQLException {
+            for (Object value : row) buffered.add(value);
+            if (buffered.size() == rowsPerStatement * columns.length) {
+                if (full == null) full = conn.prepareStatement(sql(rowsPerStatement));
+                execute(full);
+            }
+        }
+
+        // Write what is buffered now
+        void flush() throws SQLException {
+            if (buffered.isEmpty()) return;
+            try (PreparedStatement partial = conn.prepareStatement(sql(buffered.size() / columns.length))) {
+                execute(partial);
+            }
+        }
+
+        private void execute(PreparedStatement stmt) throws SQLException {
+            for (int i = 0; i < buffered.size(); i++) stmt.setObject(i + 1, buffered.get(i));
+            stmt.executeUpdate();
+            written.addAndGet(buffered.size() / columns.length);
+            buffered.clear();
+        }
+
+        private String sql(int rows) {
+            String placeholders = "(" + "?, ".repeat(columns.length - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (")
+                    .append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rows; i++) sql.append(i == 0 ? "" : ", ").append(placeholders);
+            return sql.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                if (full != null) full.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Regression check for RequirementsPanel.loadRequirements: the number of statements executed per
+// load must not grow with the number of requirement rows (no N+1 client-name lookups).
+// Runs against a stub JDBC connection, so no database is needed. Run with:
+//   ant bench -Dbench.class=RequirementsQueryCountBenchmark
+public class RequirementsQueryCountBenchmark {
+    public static void main(String[] args) throws SQLException {
+        int[] rowCounts = {10, 1_000, 100_000};
+        int baseline = -1;
+        for (int rows : rowCounts) {
+            AtomicInteger executions = new AtomicInteger();
+            Connection conn = stubConnection(rows, executions);
+
+            long start = System.nanoTime();
+            List<Object[]> loaded = RequirementsQuery.fetch(conn);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%,9d rows: %d statement(s) executed, %,d us%n",
+                    rows, executions.get(), elapsed / 1_000);
+            if (loaded.size() != rows) {
+                throw new AssertionError("Expected " + rows + " rows but loaded " + loaded.size());
+            }
+            if (baseline < 0) {
+                baseline = executions.get();
+            } else if (executions.get() != baseline) {
+                throw new AssertionError("Queries per load grew with row count: " + baseline
+                        + " for " + rowCounts[0] + " rows, " + executions.get() + " for " + rows + " rows");
+            }
+        }
+        System.out.println("OK: queries per load are independent of row count");
+    }
+
+    // Connection whose every query returns 'rows' rows and counts executions
+    private static Connection stubConnection(int rows, AtomicInteger executions) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> stubStatement(rows, executions);
+                    case "close" -> null;
+                    case "isClosed" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static PreparedStatement stubStatement(int rows, AtomicInteger executions) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "executeQuery" -> {
+                        executions.incrementAndGet();
+                        yield stubResultSet(rows);
+                    }
+                    case "close", "setInt", "setString" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static ResultSet stubResultSet(int rows) {
+        int[] cursor = {0};
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] <= rows;
+                    case "getInt" -> cursor[0];
+                    case "getString" -> args[0] + "-" + cursor[0];
+                    case "getTimestamp" -> now;
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
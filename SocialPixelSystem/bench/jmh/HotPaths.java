@@ -0,0 +1,40 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import socialpixel.jmh.EmbeddedDatabase;
+
+// The application's data-access hot paths as plain Callables, for the JMH benchmarks.
+// JMH refuses benchmark classes in the default package and named packages cannot see the
+// application's classes, so socialpixel.jmh looks this class up by name once and then calls the
+// Callables directly. Each one runs the same background work as the view it is named after,
+// through DataAccess and the pool.
+public final class HotPaths {
+    private HotPaths() {
+    }
+
+    // 'clients' is how many clients the database holds (logins cycle through its clients 1..N)
+    public static Map<String, Callable<Object>> targets(int clients) {
+        KeysetPager clientPager = AdminDashboard.newClientPager();
+        KeysetPager paymentPager = PaymentsPage.newPager();
+        KeysetPager campaignPager = CampaignsPage.newPager();
+        int[] nextLogin = {0};
+
+        Map<String, Callable<Object>> targets = new LinkedHashMap<>();
+        targets.put("loadClientData", () -> DataAccess.query(conn ->
+                clientPager.fetch(conn, KeysetPager.Direction.FIRST, AdminDashboard::mapClientRow)).join());
+        targets.put("loadPaymentData", () -> DataAccess.query(conn ->
+                paymentPager.fetch(conn, KeysetPager.Direction.FIRST, PaymentsPage::mapRow)).join());
+        targets.put("loadCampaignData", () -> DataAccess.query(conn ->
+                campaignPager.fetch(conn, KeysetPager.Direction.FIRST, CampaignsPage::mapRow)).join());
+        targets.put("updateStats", () -> DataAccess.query(DashboardStatistics::queryTotals).join());
+        targets.put("loadRequirements", () -> DataAccess.query(RequirementsQuery::fetch).join());
+        targets.put("authenticate", () -> {
+            int n = nextLogin[0] % clients + 1;
+            nextLogin[0]++;
+            String username = EmbeddedDatabase.username(n);
+            String password = EmbeddedDatabase.password(n);
+            return DataAccess.query(conn -> LoginWindow.authenticate(conn, username, password)).join();
+        });
+        return targets;
+    }
+}
@@ -0,0 +1,93 @@
+package socialpixel.jmh;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Latency of the data-access hot paths against the embedded database: the background half of each
+// view load (page fetch plus row mapping), the dashboard totals and a login check.
+// The query cache is off so every call reaches the database.
+//   ant jmh -Djmh.args="DataAccessBenchmark -p clients=100000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dsocialpixel.db.url=" + EmbeddedDatabase.URL,
+        "-Dsocialpixel.db.user=" + EmbeddedDatabase.USER,
+        "-Dsocialpixel.db.password=",
+        "-Dsocialpixel.queryCache.disabled=true",
+        "-Dsocialpixel.jdbc.dumpIntervalMs=0",
+        "-Djava.awt.headless=true"
+})
+public class DataAccessBenchmark {
+    @Param({"10000"})
+    public int clients;
+
+    private Callable<Object> loadClientData;
+    private Callable<Object> loadPaymentData;
+    private Callable<Object> loadCampaignData;
+    private Callable<Object> updateStats;
+    private Callable<Object> loadRequirements;
+    private Callable<Object> authenticate;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        EmbeddedDatabase.load(clients);
+        Map<String, Callable<Object>> targets = (Map<String, Callable<Object>>)
+                Class.forName("HotPaths").getMethod("targets", int.class).invoke(null, clients);
+        loadClientData = targets.get("loadClientData");
+        loadPaymentData = targets.get("loadPaymentData");
+        loadCampaignData = targets.get("loadCampaignData");
+        updateStats = targets.get("updateStats");
+        loadRequirements = targets.get("loadRequirements");
+        authenticate = targets.get("authenticate");
+    }
+
+    @Benchmark
+    public Object loadClientData() throws Exception {
+        return loadClientData.call();
+    }
+
+    @Benchmark
+    public Object loadPaymentData() throws Exception {
+        return loadPaymentData.call();
+    }
+
+    // Campaigns joined to their client's name
+    @Benchmark
+    public Object campaignsJoin() throws Exception {
+        return loadCampaignData.call();
+    }
+
+    @Benchmark
+    public Object updateStats() throws Exception {
+        return updateStats.call();
+    }
+
+    // Reads the whole requirements table, so it grows with 'clients'
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object loadRequirements() throws Exception {
+        return loadRequirements.call();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        return authenticate.call();
+    }
+}
@@ -0,0 +1,167 @@
+package socialpixel.jmh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Random;
+
+// In-process H2 database (MySQL mode) with the SocialPixel schema, filled with deterministic rows.
+// The application reaches it through its normal pool: benchmarks fork with -Dsocialpixel.db.url=URL.
+public final class EmbeddedDatabase {
+    public static final String URL = "jdbc:h2:mem:socialpixel;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    public static final String USER = "sa";
+
+    // Rows per client in the other tables
+    private static final int CAMPAIGNS_PER_CLIENT = 2;
+    private static final int PAYMENTS_PER_CLIENT = 3;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String[] INDUSTRIES = {"Retail", "Food", "Fashion", "Technology", "Health", "Education"};
+    // The campaign dialogs' statuses, repeated to weight them towards running and finished campaigns
+    private static final String[] STATUSES = {"Planning", "Active", "Active", "Completed", "Completed", "Cancelled"};
+    private static final String[] METHODS = {"Card", "Bank Transfer", "Cash"};
+    private static final String[] PAYMENT_STATUSES = {"Paid", "Paid", "Pending"};
+
+    private EmbeddedDatabase() {
+    }
+
+    // Create the schema (dropping anything already there) and insert 'clients' clients with their rows
+    public static void load(int clients) throws SQLException, IOException {
+        try (Connection conn = DriverManager.getConnection(URL, USER, "")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+                for (String ddl : readSchema().split(";")) {
+                    if (!ddl.isBlank()) stmt.execute(ddl);
+                }
+            }
+            conn.setAutoCommit(false);
+            Random random = new Random(42);
+            insertClients(conn, clients);
+            insertCampaigns(conn, clients, random);
+            insertPayments(conn, clients, random);
+            insertMessages(conn, "feedback", clients, random);
+            insertMessages(conn, "change_requests", clients, random);
+            insertRequirements(conn, clients, random);
+            conn.commit();
+        }
+    }
+
+    // Login name and password of client 'n' (1-based)
+    public static String username(int n) {
+        return "user" + n;
+    }
+
+    public static String password(int n) {
+        return "secret" + n;
+    }
+
+    private static void insertClients(Connection conn, int clients) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO clients (name, contact_info, nic, industry, username, password, email, phone) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int n = 1; n <= clients; n++) {
+                stmt.setString(1, "Client " + n);
+                stmt.setString(2, "client" + n + "@example.com");
+                stmt.setString(3, String.format("%09dV", n));
+                stmt.setString(4, INDUSTRIES[n % INDUSTRIES.length]);
+                stmt.setString(5, username(n));
+                stmt.setString(6, password(n));
+                stmt.setString(7, "client" + n + "@example.com");
+                stmt.setString(8, String.format("07%08d", n));
+                addBatch(stmt, n);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertCampaigns(Connection conn, int clients, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO campaigns (name, client_id, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)")) {
+            int rows = clients * CAMPAIGNS_PER_CLIENT;
+            for (int n = 1; n <= rows; n++) {
+                LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700));
+                stmt.setString(1, "Campaign " + n);
+                stmt.setInt(2, 1 + random.nextInt(clients));
+                stmt.setDate(3, Date.valueOf(start));
+                stmt.setDate(4, Date.valueOf(start.plusDays(14 + random.nextInt(90))));
+                stmt.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+                addBatch(stmt, n);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertPayments(Connection conn, int clients, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO payments (client_id, amount, payment_date, method, status) VALUES (?, ?, ?, ?, ?)")) {
+            int rows = clients * PAYMENTS_PER_CLIENT;
+            for (int n = 1; n <= rows; n++) {
+                stmt.setInt(1, 1 + random.nextInt(clients));
+                stmt.setBigDecimal(2, BigDecimal.valueOf(1_000 + random.nextInt(99_000_00), 2));
+                stmt.setDate(3, Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700))));
+                stmt.setString(4, METHODS[random.nextInt(METHODS.length)]);
+                stmt.setString(5, PAYMENT_STATUSES[random.nextInt(PAYMENT_STATUSES.length)]);
+                addBatch(stmt, n);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // One feedback or change request per client, every other one answered
+    private static void insertMessages(Connection conn, String table, int clients, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO " + table + " (client_id, client_name, message, reply, submitted_at) VALUES (?, ?, ?, ?, ?)")) {
+            for (int n = 1; n <= clients; n++) {
+                stmt.setInt(1, n);
+                stmt.setString(2, "Client " + n);
+                stmt.setString(3, "Message " + n + " about the current campaign");
+                stmt.setString(4, n % 2 == 0 ? "Thanks, we will look into it" : null);
+                stmt.setTimestamp(5, timestamp(random));
+                addBatch(stmt, n);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertRequirements(Connection conn, int clients, Random random) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO requirements (client_id, requirement, admin_response, submitted_at) VALUES (?, ?, ?, ?)")) {
+            for (int n = 1; n <= clients; n++) {
+                stmt.setInt(1, n);
+                stmt.setString(2, "Requirement " + n + ": more posts per week");
+                stmt.setString(3, n % 3 == 0 ? "Agreed" : null);
+                stmt.setTimestamp(4, timestamp(random));
+                addBatch(stmt, n);
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void addBatch(PreparedStatement stmt, int n) throws SQLException {
+        stmt.addBatch();
+        if (n % BATCH_SIZE == 0) stmt.executeBatch();
+    }
+
+    private static Timestamp timestamp(Random random) {
+        return Timestamp.valueOf(LocalDate.of(2024, 1, 1).atStartOfDay().plusMinutes(random.nextInt(1_000_000)));
+    }
+
+    private static String readSchema() throws IOException {
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream("schema.sql")) {
+            if (in == null) throw new IOException("schema.sql not found next to EmbeddedDatabase");
+            StringBuilder out = new StringBuilder();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.strip().startsWith("--")) out.append(line).append('\n');
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package socialpixel.jmh;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of putting fetched rows into a DefaultTableModel, as the views do on the EDT
+// (setRowCount(0) then addRow per row), against replacing the data in one call.
+// 'attached' puts a JTable on the model so every row insert is also seen by a table's listeners.
+//   ant jmh -Djmh.args="TableModelBenchmark -p rows=100000"
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class TableModelBenchmark {
+    private static final String[] COLUMNS = {"ID", "Client Name", "Amount", "Date", "Method", "Status", "Edit", "Delete"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean attached;
+
+    private List<Object[]> fetched;
+    private DefaultTableModel model;
+
+    @Setup(Level.Trial)
+    public void fetchRows() {
+        fetched = new ArrayList<>(rows);
+        Date date = Date.valueOf("2025-01-01");
+        for (int i = 0; i < rows; i++) {
+            fetched.add(new Object[]{i, "Client " + (i % 5_000), 1_000.0 + i, date, "Card", "Paid", "Edit", "Delete"});
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newModel() {
+        model = new DefaultTableModel(COLUMNS, 0);
+        if (attached) new JTable(model);
+    }
+
+    // What the views do today
+    @Benchmark
+    public DefaultTableModel addRows() {
+        model.setRowCount(0);
+        fetched.forEach(model::addRow);
+        return model;
+    }
+
+    // One model event for the whole load
+    @Benchmark
+    public DefaultTableModel setDataVector() {
+        Vector<Vector<Object>> data = new Vector<>(fetched.size());
+        for (Object[] row : fetched) data.add(new Vector<>(List.of(row)));
+        model.setDataVector(data, new Vector<>(List.of(COLUMNS)));
+        return model;
+    }
+}
@@ -0,0 +1,69 @@
+-- SocialPixel schema, as the application's queries expect it.
+-- Plain MySQL DDL; the JMH benchmarks run it on H2 in MySQL mode.
+
+CREATE TABLE clients (
+    client_id     INT AUTO_INCREMENT PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    contact_info  VARCHAR(255),
+    nic           VARCHAR(20),
+    nic_encrypted VARCHAR(255),
+    industry      VARCHAR(100),
+    username      VARCHAR(50),
+    password      VARCHAR(255),
+    email         VARCHAR(100),
+    phone         VARCHAR(20)
+);
+CREATE UNIQUE INDEX idx_clients_username ON clients (username);
+CREATE INDEX idx_clients_nic ON clients (nic);
+CREATE INDEX idx_clients_name ON clients (name);
+
+CREATE TABLE campaigns (
+    campaign_id INT AUTO_INCREMENT PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    title       VARCHAR(100),
+    client_id   INT NOT NULL,
+    start_date  DATE,
+    end_date    DATE,
+    status      VARCHAR(20)
+);
+CREATE INDEX idx_campaigns_client ON campaigns (client_id);
+
+CREATE TABLE payments (
+    payment_id   INT AUTO_INCREMENT PRIMARY KEY,
+    client_id    INT NOT NULL,
+    amount       DECIMAL(12, 2) NOT NULL,
+    payment_date DATE,
+    method       VARCHAR(30),
+    status       VARCHAR(20)
+);
+CREATE INDEX idx_payments_client ON payments (client_id);
+CREATE INDEX idx_payments_status ON payments (status);
+
+CREATE TABLE feedback (
+    id           INT AUTO_INCREMENT PRIMARY KEY,
+    client_id    INT NOT NULL,
+    client_name  VARCHAR(100),
+    message      TEXT,
+    reply        TEXT,
+    submitted_at TIMESTAMP
+);
+CREATE INDEX idx_feedback_client ON feedback (client_id);
+
+CREATE TABLE change_requests (
+    id           INT AUTO_INCREMENT PRIMARY KEY,
+    client_id    INT NOT NULL,
+    client_name  VARCHAR(100),
+    message      TEXT,
+    reply        TEXT,
+    submitted_at TIMESTAMP
+);
+CREATE INDEX idx_change_requests_client ON change_requests (client_id);
+
+CREATE TABLE requirements (
+    id             INT AUTO_INCREMENT PRIMARY KEY,
+    client_id      INT NOT NULL,
+    requirement    TEXT,
+    admin_response TEXT,
+    submitted_at   TIMESTAMP
+);
+CREATE INDEX idx_requirements_client ON requirements (client_id);
@@ -1,5 +1,4 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.*;
 import java.text.SimpleDateFormat;
@@ -8,21 +7,18 @@ import java.util.Date;
 // Dialog window for adding a new campaign
 public class AddCampaignDialog extends JDialog {
     // UI components for the form
-    private JComboBox<String> clientCombo;
+    private JComboBox<ClientRef> clientCombo;
     private JTextField nameField;
     private JFormattedTextField startDateField;
     private JFormattedTextField endDateField;
     private JComboBox<String> statusCombo;
-    // Reference to the main admin dashboard to update stats
+    // Reference to the main admin dashboard to update stats and publish the new campaign
     private AdminDashboard adminDashboard;
-    // Table model to add the new campaign to
-    private DefaultTableModel tableModel;
 
     // Constructor: sets up the dialog window
-    public AddCampaignDialog(AdminDashboard parent, DefaultTableModel tableModel) {
+    public AddCampaignDialog(AdminDashboard parent) {
         super(parent, "Add Campaign", true); // Create dialog with parent, title, and modality
         this.adminDashboard = parent; // Store reference to admin dashboard
-        this.tableModel = tableModel; // Store reference to table model
         setSize(420, 400); // Set dialog size
         setLocationRelativeTo(parent); // Center dialog relative to parent
         setResizable(false); // Disable resizing
@@ -39,7 +35,7 @@ public class AddCampaignDialog extends JDialog {
 
         // Client Dropdown
         gbc.gridx = 0; gbc.gridy++; panel.add(new JLabel("Client:"), gbc);
-        gbc.gridx = 1; clientCombo = new JComboBox<>(); loadClients(); panel.add(clientCombo, gbc);
+        gbc.gridx = 1; clientCombo = new JComboBox<>(); ClientDirectory.populate(clientCombo, null); panel.add(clientCombo, gbc);
 
         // Start Date
         gbc.gridx = 0; gbc.gridy++; panel.add(new JLabel("Start Date:"), gbc);
@@ -70,77 +66,58 @@ public class AddCampaignDialog extends JDialog {
         setContentPane(panel); // Set the panel as the content of the dialog
 
         // Action listener for the Save button
-        saveBtn.addActionListener(e -> {
-            try (Connection conn = DBConnection.getConnection()) {
-                // Get client ID from the selected client name
-                String clientName = (String) clientCombo.getSelectedItem();
-                PreparedStatement clientStmt = conn.prepareStatement("SELECT client_id FROM clients WHERE name = ?");
-                clientStmt.setString(1, clientName);
-                ResultSet clientRs = clientStmt.executeQuery();
-                int clientId = clientRs.next() ? clientRs.getInt("client_id") : -1;
+        saveBtn.addActionListener(Trace.action("Add campaign: save", e -> {
+            ClientRef client = (ClientRef) clientCombo.getSelectedItem();
+            if (client == null) {
+                JOptionPane.showMessageDialog(this, "Please select a client.");
+                return;
+            }
+            String name = nameField.getText();
+            java.sql.Date start = new java.sql.Date(((Date) startDateField.getValue()).getTime());
+            java.sql.Date end = new java.sql.Date(((Date) endDateField.getValue()).getTime());
+            String status = (String) statusCombo.getSelectedItem();
 
+            // Insert in the background; the buttons stay disabled until it finishes
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 // SQL statement to insert a new campaign
                 String sql = "INSERT INTO campaigns (name, client_id, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)";
-                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                stmt.setString(1, nameField.getText());
-                stmt.setInt(2, clientId);
-                stmt.setDate(3, new java.sql.Date(((Date) startDateField.getValue()).getTime()));
-                stmt.setDate(4, new java.sql.Date(((Date) endDateField.getValue()).getTime()));
-                stmt.setString(5, (String) statusCombo.getSelectedItem());
-                stmt.executeUpdate();
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, name);
+                    stmt.setInt(2, client.id());
+                    stmt.setDate(3, start);
+                    stmt.setDate(4, end);
+                    stmt.setString(5, status);
+                    stmt.executeUpdate();
 
-                // Get the newly generated campaign ID
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    int newId = rs.getInt(1);
-                    // Retrieve the full campaign details to add to the table model
-                    String fetchSql = "SELECT ca.campaign_id, ca.name, c.name as client_name, ca.start_date, ca.end_date, ca.status FROM campaigns ca JOIN clients c ON ca.client_id = c.client_id WHERE ca.campaign_id = ?";
-                    PreparedStatement fetchStmt = conn.prepareStatement(fetchSql);
-                    fetchStmt.setInt(1, newId);
-                    ResultSet fetchRs = fetchStmt.executeQuery();
-                    if (fetchRs.next()) {
-                        // Add the new campaign as a row in the admin dashboard's table
-                        tableModel.addRow(new Object[]{
-                            fetchRs.getInt("campaign_id"),
-                            fetchRs.getString("name"),
-                            fetchRs.getString("client_name"),
-                            fetchRs.getDate("start_date"),
-                            fetchRs.getDate("end_date"),
-                            fetchRs.getString("status"),
-                            "Edit",
-                            "Delete"
-                        });
-                    }
-                }
-                adminDashboard.updateStats(); // Update the statistic cards on the admin dashboard
-                // Refresh campaigns table if possible (not the best way, but functional)
-                if (adminDashboard != null) {
-                    for (Component comp : adminDashboard.getContentPane().getComponents()) {
-                        if (comp instanceof JPanel && comp.getClass().getSimpleName().equals("CampaignsPage")) {
-                            ((CampaignsPage) comp).loadCampaignData();
-                        }
-                    }
+                    // Get the newly generated campaign ID
+                    ResultSet rs = stmt.getGeneratedKeys();
+                    if (!rs.next()) throw new SQLException("No campaign ID was generated.");
+                    return rs.getInt(1);
                 }
+            }).whenComplete(DataAccess.onEdt(newId -> {
+                // Let the campaigns view add the row (the form already has everything it shows)
+                adminDashboard.getEvents().publish(new DomainEvent.CampaignChanged(DomainEvent.Change.ADDED, newId, new Object[]{
+                    newId,
+                    name,
+                    client,
+                    start,
+                    end,
+                    status,
+                    "Edit",
+                    "Delete"
+                }));
+                adminDashboard.getStatistics().campaignAdded(); // Update the statistic cards on the admin dashboard
                 JOptionPane.showMessageDialog(this, "Campaign added successfully!");
                 dispose(); // Close the dialog
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+            }, error -> {
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
         // Action listener for the Cancel button
         cancelBtn.addActionListener(e -> dispose()); // Close the dialog without saving
     }
-
-    // Load all client names from the database into the client dropdown
-    private void loadClients() {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT name FROM clients");
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                clientCombo.addItem(rs.getString("name"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace(); // Print error to console if loading fails
-        }
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
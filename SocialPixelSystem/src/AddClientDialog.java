@@ -1,7 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.sql.*;
-import javax.swing.table.DefaultTableModel;
 
 // Dialog window for adding a new client
 public class AddClientDialog extends JDialog {
@@ -9,7 +8,7 @@ public class AddClientDialog extends JDialog {
     private JTextField nameField, contactField, nicField, industryField;
 
     // Constructor: sets up the dialog window
-    public AddClientDialog(JFrame parent, DefaultTableModel tableModel) {
+    public AddClientDialog(JFrame parent) {
         super(parent, "Add New Client", true); // Create dialog with parent, title, and modality
         setSize(420, 260); // Set dialog size
         setLocationRelativeTo(parent); // Center dialog relative to parent
@@ -79,7 +78,7 @@ public class AddClientDialog extends JDialog {
         setContentPane(panel); // Set the panel as the content of the dialog
 
         // Action listener for the Save button
-        saveBtn.addActionListener(e -> {
+        saveBtn.addActionListener(Trace.action("Add client: save", e -> {
             // Get text from all fields
             String name = nameField.getText();
             String contact = contactField.getText();
@@ -92,37 +91,41 @@ public class AddClientDialog extends JDialog {
                 return; // Stop if validation fails
             }
 
-            // Database operation
-            try (Connection conn = DBConnection.getConnection()) {
+            // Database operation (in the background; the buttons stay disabled until it finishes)
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 // SQL statement to insert a new client
                 String sql = "INSERT INTO clients (name, contact_info, nic, industry, username, password, email, phone) VALUES (?, ?, ?, ?, NULL, NULL, NULL, NULL)";
-                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                stmt.setString(1, name);
-                stmt.setString(2, contact);
-                stmt.setString(3, nic);
-                stmt.setString(4, industry);
-                stmt.executeUpdate();
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, name);
+                    stmt.setString(2, contact);
+                    stmt.setString(3, nic);
+                    stmt.setString(4, industry);
+                    stmt.executeUpdate();
 
-                // Get the newly generated client ID
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    int newId = rs.getInt(1);
-                    // Add the new client as a row in the admin dashboard's table
-                    tableModel.addRow(new Object[]{newId, name, contact, nic, industry, "Edit", "Delete"});
-                    // If the parent is the AdminDashboard, reload its data and update stats
-                    if (parent instanceof AdminDashboard) {
-                        ((AdminDashboard) parent).loadClientData();
-                        ((AdminDashboard) parent).updateStats();
-                    }
-                    JOptionPane.showMessageDialog(this, "Client added successfully!");
-                    dispose(); // Close the dialog
+                    // Get the newly generated client ID
+                    ResultSet rs = stmt.getGeneratedKeys();
+                    if (!rs.next()) throw new SQLException("No client ID was generated.");
+                    return rs.getInt(1);
                 }
-
-            } catch (SQLException ex) {
+            }).whenComplete(DataAccess.onEdt(newId -> {
+                ClientCache.put(new ClientCache.Client(newId, name, null, null, null, industry, contact, nic)); // As inserted
+                // If the parent is the AdminDashboard, add the row to its table and update stats
+                if (parent instanceof AdminDashboard dashboard) {
+                    dashboard.getEvents().publish(new DomainEvent.ClientChanged(DomainEvent.Change.ADDED, newId,
+                            new Object[]{newId, name, contact, nic, industry, "Edit", "Delete"}));
+                    dashboard.getStatistics().clientAdded();
+                }
+                JOptionPane.showMessageDialog(this, "Client added successfully!");
+                dispose(); // Close the dialog
+            }, error -> {
                 // Show error message if database operation fails
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
 
         // Action listener for the Cancel button
         cancelBtn.addActionListener(e -> dispose()); // Close the dialog without saving
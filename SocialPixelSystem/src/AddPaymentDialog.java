@@ -1,5 +1,4 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.*;
 import java.text.ParseException;
@@ -9,7 +8,7 @@ import java.util.Date;
 // Dialog window for adding a new payment
 public class AddPaymentDialog extends JDialog {
     // UI components for the form
-    private JComboBox<String> clientCombo;
+    private JComboBox<ClientRef> clientCombo;
     private JTextField amountField;
     private JFormattedTextField dateField;
     private JComboBox<String> methodCombo;
@@ -18,7 +17,7 @@ public class AddPaymentDialog extends JDialog {
     private AdminDashboard adminDashboard;
 
     // Constructor: sets up the dialog window
-    public AddPaymentDialog(AdminDashboard parent, DefaultTableModel tableModel) {
+    public AddPaymentDialog(AdminDashboard parent) {
         super(parent, "Add Payment", true); // Create dialog with parent, title, and modality
         this.adminDashboard = parent; // Store reference to admin dashboard
         setSize(400, 320); // Set dialog size
@@ -35,7 +34,7 @@ public class AddPaymentDialog extends JDialog {
         panel.add(new JLabel("Client:"), gbc);
         gbc.gridx = 1;
         clientCombo = new JComboBox<>();
-        loadClients(); // Populate the dropdown with client names
+        ClientDirectory.populate(clientCombo, null); // Populate the dropdown with clients
         panel.add(clientCombo, gbc);
 
         // Amount
@@ -82,75 +81,64 @@ public class AddPaymentDialog extends JDialog {
         setContentPane(panel); // Set the panel as the content of the dialog
 
         // Action listener for the Save button
-        saveBtn.addActionListener(e -> {
+        saveBtn.addActionListener(Trace.action("Add payment: save", e -> {
             // Get values from all form fields
-            String clientName = (String) clientCombo.getSelectedItem();
+            ClientRef client = (ClientRef) clientCombo.getSelectedItem();
             String amountStr = amountField.getText();
             Date dateValue = (Date) dateField.getValue();
             String method = (String) methodCombo.getSelectedItem();
             String status = (String) statusCombo.getSelectedItem();
 
             // Validate that all fields are filled
-            if (clientName == null || amountStr.isEmpty() || dateValue == null || method.isEmpty() || status.isEmpty()) {
+            if (client == null || amountStr.isEmpty() || dateValue == null || method.isEmpty() || status.isEmpty()) {
                 JOptionPane.showMessageDialog(this, "Please fill all fields correctly.");
                 return; // Stop if validation fails
             }
 
-            // Database operation
-            try (Connection conn = DBConnection.getConnection()) {
-                // Get client_id from the selected client name
-                PreparedStatement clientStmt = conn.prepareStatement("SELECT client_id FROM clients WHERE name = ?");
-                clientStmt.setString(1, clientName);
-                ResultSet clientRs = clientStmt.executeQuery();
-                int clientId = -1;
-                if (clientRs.next()) {
-                    clientId = clientRs.getInt("client_id");
-                }
-                if (clientId == -1) {
-                    JOptionPane.showMessageDialog(this, "Client not found.");
-                    return; // Stop if client is not found
-                }
+            double amount;
+            try {
+                amount = Double.parseDouble(amountStr);
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Please fill all fields correctly.");
+                return;
+            }
+            java.sql.Date date = new java.sql.Date(dateValue.getTime());
+
+            // Database operation (in the background; the buttons stay disabled until it finishes)
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 // SQL statement to insert a new payment
                 String sql = "INSERT INTO payments (client_id, amount, payment_date, method, status) VALUES (?, ?, ?, ?, ?)";
-                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                stmt.setInt(1, clientId);
-                stmt.setDouble(2, Double.parseDouble(amountStr));
-                stmt.setDate(3, new java.sql.Date(dateValue.getTime()));
-                stmt.setString(4, method);
-                stmt.setString(5, status);
-                stmt.executeUpdate();
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setInt(1, client.id());
+                    stmt.setDouble(2, amount);
+                    stmt.setDate(3, date);
+                    stmt.setString(4, method);
+                    stmt.setString(5, status);
+                    stmt.executeUpdate();
 
-                // Get the newly generated payment ID
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    int newId = rs.getInt(1);
-                    // Add the new payment as a row in the admin dashboard's payments table
-                    tableModel.addRow(new Object[]{newId, clientName, Double.parseDouble(amountStr), new SimpleDateFormat("yyyy-MM-dd").format(dateValue), method, status, "Edit", "Delete"});
-                    adminDashboard.updateStats(); // Update the statistic cards
-                    JOptionPane.showMessageDialog(this, "Payment added successfully!");
-                    dispose(); // Close the dialog
+                    // Get the newly generated payment ID
+                    ResultSet rs = stmt.getGeneratedKeys();
+                    if (!rs.next()) throw new SQLException("No payment ID was generated.");
+                    return rs.getInt(1);
                 }
-            } catch (SQLException ex) {
+            }).whenComplete(DataAccess.onEdt(newId -> {
+                // Let the payments view add the new row
+                adminDashboard.getEvents().publish(new DomainEvent.PaymentChanged(DomainEvent.Change.ADDED, newId,
+                        new Object[]{newId, client, amount, date, method, status, "Edit", "Delete"}));
+                adminDashboard.getStatistics().paymentAdded(amount, status); // Update the statistic cards
+                JOptionPane.showMessageDialog(this, "Payment added successfully!");
+                dispose(); // Close the dialog
+            }, error -> {
                 // Show error message if database operation fails
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
 
         // Action listener for the Cancel button
         cancelBtn.addActionListener(e -> dispose()); // Close the dialog without saving
     }
-
-    // Load all client names from the database into the client dropdown
-    private void loadClients() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT name FROM clients";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                clientCombo.addItem(rs.getString("name"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace(); // Print error to console if loading fails
-        }
-    }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,16 +1,24 @@
 import javax.swing.*;
 import javax.swing.border.LineBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 // Main class for the admin dashboard window
 public class AdminDashboard extends JFrame {
     // Sidebar panel for navigation
     private JPanel sidebar;
     // Table to display client data
-    JTable clientTable;
+    LoadingTable clientTable;
     // Table model for clientTable
     private DefaultTableModel tableModel;
     // Flag to track sidebar state (expanded/collapsed)
@@ -19,6 +27,7 @@ public class AdminDashboard extends JFrame {
     // Main content panel and layout manager
     private JPanel mainPanel;
     private CardLayout cardLayout;
+    private ViewRegistry views; // Builds the cards on first show
 
     // Labels for dashboard statistics
     private JLabel clientsCardLabel;
@@ -26,8 +35,28 @@ public class AdminDashboard extends JFrame {
     private JLabel paymentsCardLabel;
     private JLabel pendingPaymentsCardLabel;
 
+    // Guards against an older, slower load overwriting a newer one
+    private final DataAccess.Latest clientLoads = new DataAccess.Latest();
+
+    // Writes made by the dialogs and editors, applied by the views that show them
+    private final EventBus events = new EventBus();
+
+    // Card figures, loaded once and then kept up to date from write events
+    private final DashboardStatistics statistics = new DashboardStatistics();
+
+    // Coalesces refreshes of the cards ("stats") and of each view (by view name)
+    private final RefreshScheduler refreshes = new RefreshScheduler();
+    private static final String STATS = "stats";
+
+    // Pages through clients by client_id so only one page is ever pulled from MySQL
+    private final KeysetPager clientPager = newClientPager();
+    private PaginationBar clientPaginationBar;
+    private LazyTableModel clientLazyModel; // Scrolling model used instead of pages when enabled
+
     // Constructor: sets up the admin dashboard window
     public AdminDashboard() {
+        EdtWatchdog.start(); // Report UI freezes (no-op if already running)
+        ContinuousRecording.startIfConfigured(); // -Dsocialpixel.jfr.continuous=true
         setTitle("Admin Dashboard - SocialPixel"); // Set window title
         setSize(1000, 600); // Set window size
         setLocationRelativeTo(null); // Center window
@@ -65,29 +94,17 @@ public class AdminDashboard extends JFrame {
             btn.setMaximumSize(new Dimension(200, 40));
 
             // Handle sidebar navigation
-            btn.addActionListener(e -> {
+            btn.addActionListener(Trace.action("Sidebar: " + item, e -> {
                 String command = e.getActionCommand();
                 switch (command) {
-                    case "Dashboard" -> cardLayout.show(mainPanel, "Dashboard");
-                    case "Campaigns" -> {
-                        cardLayout.show(mainPanel, "Campaigns");
-                        ((CampaignsPage) mainPanel.getComponent(2)).loadCampaignData();
-                    }
-                    case "Payments" -> {
-                        cardLayout.show(mainPanel, "Payments");
-                        ((PaymentsPage) mainPanel.getComponent(1)).loadPaymentData();
-                    }
-                    case "Client Feedback" -> {
-                        cardLayout.show(mainPanel, "ClientFeedback");
-                        ((ClientFeedbackPanel) mainPanel.getComponent(4)).loadFeedback();
-                    }
-                    case "Requirements" -> {
-                        cardLayout.show(mainPanel, "Requirements");
-                        ((RequirementsPanel) mainPanel.getComponent(5)).loadRequirements();
-                    }
+                    case "Dashboard" -> views.show("Dashboard");
+                    case "Campaigns" -> views.show("Campaigns");
+                    case "Payments" -> views.show("Payments");
+                    case "Client Feedback" -> views.show("ClientFeedback");
+                    case "Requirements" -> views.show("Requirements");
                     case "Logout" -> { dispose(); new LoginWindow().setVisible(true); }
                 }
-            });
+            }));
 
             sidebar.add(btn);
         }
@@ -97,6 +114,7 @@ public class AdminDashboard extends JFrame {
         // ===== Main Panel with CardLayout =====
         cardLayout = new CardLayout();
         mainPanel = new JPanel(cardLayout);
+        views = new ViewRegistry(mainPanel, cardLayout);
 
         // --- Dashboard View ---
         JPanel dashboardView = new JPanel(new GridBagLayout());
@@ -120,16 +138,16 @@ public class AdminDashboard extends JFrame {
         gbc.anchor = GridBagConstraints.CENTER;
         gbc.weightx = 1.0;
         gbc.gridx = 0;
-        clientsCardLabel = new JLabel();
+        clientsCardLabel = new JLabel(LoadingTable.LOADING);
         dashboardView.add(createCard("Clients", clientsCardLabel, new Color(102, 204, 255)), gbc);
         gbc.gridx = 1;
-        campaignsCardLabel = new JLabel();
+        campaignsCardLabel = new JLabel(LoadingTable.LOADING);
         dashboardView.add(createCard("Campaigns", campaignsCardLabel, new Color(255, 204, 102)), gbc);
         gbc.gridx = 2;
-        paymentsCardLabel = new JLabel();
+        paymentsCardLabel = new JLabel(LoadingTable.LOADING);
         dashboardView.add(createCard("Paid Payments", paymentsCardLabel, new Color(153, 255, 153)), gbc);
         gbc.gridx = 3;
-        pendingPaymentsCardLabel = new JLabel();
+        pendingPaymentsCardLabel = new JLabel(LoadingTable.LOADING);
         dashboardView.add(createCard("Pending Payments", pendingPaymentsCardLabel, new Color(255, 179, 102)), gbc);
         gbc.gridx = 4;
         gbc.weightx = 0.1;
@@ -147,8 +165,21 @@ public class AdminDashboard extends JFrame {
         addBtn.setForeground(Color.WHITE);
         addBtn.setPreferredSize(new Dimension(130, 32));
         addBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        addBtn.addActionListener(e -> new AddClientDialog(this, tableModel).setVisible(true));
-        dashboardView.add(addBtn, gbc);
+        addBtn.addActionListener(e -> {
+            new AddClientDialog(this).setVisible(true);
+        });
+        // Import Clients Button (bulk add from a CSV file)
+        JButton importBtn = new JButton("Import Clients");
+        importBtn.setBackground(new Color(59, 89, 182));
+        importBtn.setForeground(Color.WHITE);
+        importBtn.setPreferredSize(new Dimension(150, 32));
+        importBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        importBtn.addActionListener(Trace.action("Import clients", e -> importClients()));
+        JPanel clientButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        clientButtons.setOpaque(false);
+        clientButtons.add(importBtn);
+        clientButtons.add(addBtn);
+        dashboardView.add(clientButtons, gbc);
 
         // Table Label
         gbc.gridx = 0;
@@ -167,7 +198,19 @@ public class AdminDashboard extends JFrame {
                 return col == 5 || col == 6;
             }
         };
-        clientTable = new JTable(tableModel);
+        if (LazyTableModel.ENABLED) {
+            // One scrolling table over every client; rows are fetched around the viewport
+            clientLazyModel = new LazyTableModel(new String[]{"ID", "Name", "Contact", "NIC", "Industry", "Edit", "Delete"},
+                    "SELECT client_id, name, contact_info, nic, industry FROM clients", "client_id", "client_id",
+                    "SELECT COUNT(*) FROM clients", AdminDashboard::mapClientRow, col -> col == 5 || col == 6);
+            clientTable = new LoadingTable(clientLazyModel);
+        } else {
+            clientTable = new LoadingTable(tableModel);
+        }
+        clientTable.setLoadName("Dashboard");
+        clientPaginationBar = new PaginationBar(clientPager,
+                direction -> views.within("Dashboard", () -> loadClientPage(direction)));
+        clientPaginationBar.setVisible(clientLazyModel == null);
         loadClientData();
 
         clientTable.getColumn("Edit").setCellRenderer(new ButtonRenderer());
@@ -185,26 +228,55 @@ public class AdminDashboard extends JFrame {
         gbc.weighty = 1.0;
         dashboardView.add(scrollPane, gbc);
 
-        // --- Payments View ---
-        PaymentsPage paymentsView = new PaymentsPage(this);
-
-        // --- Campaigns View ---
-        CampaignsPage campaignsView = new CampaignsPage(this);
-
-        // --- Client Feedback View ---
-        ClientFeedbackPanel clientFeedbackPanel = new ClientFeedbackPanel();
-
-        // --- Requirements View ---
-        RequirementsPanel requirementsPanel = new RequirementsPanel();
-
-        mainPanel.add(dashboardView, "Dashboard");
-        mainPanel.add(paymentsView, "Payments");
-        mainPanel.add(campaignsView, "Campaigns");
-        mainPanel.add(clientFeedbackPanel, "ClientFeedback");
-        mainPanel.add(requirementsPanel, "Requirements");
+        // Previous/Next controls under the client table
+        gbc.gridy = 5;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.weighty = 0;
+        dashboardView.add(clientPaginationBar, gbc);
+
+        views.add("Dashboard", dashboardView);
+
+        // --- Other views: built (and loaded) when first shown ---
+        views.register("Payments", () -> new PaymentsPage(this), PaymentsPage::loadPaymentData);
+        views.register("Campaigns", () -> new CampaignsPage(this), CampaignsPage::loadCampaignData);
+        views.register("ClientFeedback", () -> new ClientFeedbackPanel(events), ClientFeedbackPanel::loadFeedback);
+        views.register("Requirements", () -> new RequirementsPanel(events), RequirementsPanel::loadRequirements);
+        // Hidden card, not in the sidebar: Ctrl+Shift+D from anywhere in the window
+        views.register("Diagnostics", () -> new DiagnosticsPanel(this), view -> { });
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_D, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "diagnostics");
+        getRootPane().getActionMap().put("diagnostics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                views.show("Diagnostics");
+            }
+        });
         add(mainPanel, BorderLayout.CENTER);
+        add(new ConnectionStatusBar(), BorderLayout.SOUTH); // Shown only while the database is degraded/offline
+
+        // Refreshes requested by writes are coalesced per target
+        refreshes.register(STATS, () -> statistics.reconcile().whenComplete(DataAccess.onEdt(stats -> { }, error -> {
+            if (!LoadingTable.LOADING.equals(clientsCardLabel.getText())) return; // Keep the last known figures
+            for (JLabel label : new JLabel[]{clientsCardLabel, campaignsCardLabel, paymentsCardLabel, pendingPaymentsCardLabel}) {
+                label.setText("--");
+            }
+        })));
+        refreshes.register("Dashboard", () -> views.within("Dashboard", this::loadClientData));
+        registerViewRefresh("Payments", PaymentsPage.class, PaymentsPage::loadPaymentData);
+        registerViewRefresh("Campaigns", CampaignsPage.class, CampaignsPage::loadCampaignData);
+        registerViewRefresh("Requirements", RequirementsPanel.class, RequirementsPanel::loadRequirements);
+
+        // Apply client writes to the table on screen instead of reloading it
+        events.subscribe(DomainEvent.ClientChanged.class, event -> {
+            TableRows.apply(clientTable.getModel(), event.change(), event.clientId(), event.row(),
+                    !clientPager.getCurrent().hasNext(), () -> refreshes.request("Dashboard"));
+            // Requirements rows carry the client's name; reload them (now if on screen, else when next shown)
+            if (event.change() == DomainEvent.Change.UPDATED) refreshes.request("Requirements");
+        });
         
-        updateStats(); // Initial stats load
+        statistics.addListener(this::showStats);
+        refreshes.refreshNow(STATS); // Initial stats load (runs in the background)
+        statistics.start(); // Periodic reconciliation
     }
 
     // Helper method to create a colored card for dashboard statistics
@@ -234,82 +306,154 @@ public class AdminDashboard extends JFrame {
         sidebar.revalidate();
     }
 
-    // Load all client data from the database into the table
-    public void loadClientData() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT client_id, name, contact_info, nic, industry FROM clients";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                tableModel.addRow(new Object[]{
-                        rs.getInt("client_id"),
-                        rs.getString("name"),
-                        rs.getString("contact_info"),
-                        rs.getString("nic"),
-                        rs.getString("industry"),
-                        "Edit",
-                        "Delete"
-                });
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // Reload the page of clients on screen (in the background)
+    public CompletableFuture<?> loadClientData() {
+        if (clientLazyModel != null) {
+            clientTable.showLoading();
+            return clientLazyModel.refresh().whenComplete(DataAccess.onEdt(count -> clientTable.showLoaded(),
+                    error -> clientTable.showError("Could not load clients: " + error.getMessage())));
         }
+        return loadClientPage(KeysetPager.Direction.CURRENT);
+    }
+
+    // Bulk-add clients from a CSV file chosen by the user (see ClientImport for the format), with a
+    // cancellable progress dialog; the clients, requirements and totals are refreshed afterwards
+    private void importClients() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        ClientImport clientImport = new ClientImport(file);
+        ProgressMonitor monitor = new ProgressMonitor(this, "Importing " + file.getFileName(), "Checking existing clients...", 0, 1_000);
+        monitor.setMillisToDecideToPopup(0);
+        monitor.setMillisToPopup(0);
+        DataAccess.query(conn -> {
+            try {
+                return clientImport.run(conn, progress -> SwingUtilities.invokeLater(() -> {
+                    if (monitor.isCanceled()) clientImport.cancel();
+                    monitor.setProgress((int) (1_000 * progress.bytesRead() / Math.max(progress.totalBytes(), 1)));
+                    monitor.setNote(String.format("%,d imported, %,d rejected", progress.imported(), progress.rejected()));
+                }));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete(DataAccess.onEdt(result -> {
+            monitor.close();
+            refreshAfterImport();
+            String summary = String.format("%s%,d of %,d rows imported in %.1f s (%,.0f rows/s).",
+                    result.cancelled() ? "Import cancelled. " : "", result.imported(), result.read(),
+                    result.elapsedNanos() / 1e9, result.rowsPerSecond());
+            if (result.errorReport() != null) {
+                summary += String.format("%n%,d rows were rejected; see %s", result.rejected(), result.errorReport());
+            }
+            JOptionPane.showMessageDialog(this, summary, "Import Clients",
+                    result.rejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+        }, error -> {
+            monitor.close();
+            refreshAfterImport(); // Chunks committed before the failure stay
+            Throwable cause = DataAccess.unwrap(error);
+            if (cause instanceof UncheckedIOException io) cause = io.getCause();
+            JOptionPane.showMessageDialog(this, "Import failed: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }));
+    }
+
+    private void refreshAfterImport() {
+        refreshes.request("Dashboard");
+        refreshes.request("Requirements");
+        updateStats();
+    }
+
+    // Fetch one page of clients in the background and show it
+    private CompletableFuture<?> loadClientPage(KeysetPager.Direction direction) {
+        int ticket = clientLoads.next();
+        clientTable.showLoading();
+        clientPaginationBar.setBusy(true);
+        return DataAccess.query(conn -> clientPager.fetch(conn, direction, AdminDashboard::mapClientRow)).whenComplete(DataAccess.onEdt(page -> {
+            if (!clientLoads.isCurrent(ticket)) return;
+            clientPager.accept(page);
+            tableModel.setRowCount(0);
+            page.rows().forEach(tableModel::addRow);
+            clientTable.showLoaded();
+            clientPaginationBar.update(page);
+        }, error -> {
+            if (!clientLoads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            error.printStackTrace();
+            clientTable.showError("Could not load clients: " + error.getMessage());
+            clientPaginationBar.update(clientPager.getCurrent());
+        }));
+    }
+
+    // Pager over the clients table (also used by the JMH benchmarks)
+    static KeysetPager newClientPager() {
+        return new KeysetPager("SELECT client_id, name, contact_info, nic, industry FROM clients", "client_id", "client_id", "clients");
+    }
+
+    // Map one clients row to a table row
+    static Object[] mapClientRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+                rs.getInt("client_id"),
+                rs.getString("name"),
+                rs.getString("contact_info"),
+                rs.getString("nic"),
+                rs.getString("industry"),
+                "Edit",
+                "Delete"
+        };
     }
 
-    // Update the dashboard statistics cards
+    // Recount the dashboard statistics from the database (one aggregate query, in the background);
+    // calls in quick succession share one recount
     public void updateStats() {
-        clientsCardLabel.setText(String.valueOf(getClientCount()));
-        campaignsCardLabel.setText(String.valueOf(getCampaignCount()));
-        paymentsCardLabel.setText("Rs. " + String.format("%.2f", getTotalPaidPayments()));
-        pendingPaymentsCardLabel.setText("Rs. " + String.format("%.2f", getTotalPendingPayments()));
+        refreshes.request(STATS);
     }
 
-    // Get the total number of clients
-    private int getClientCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT COUNT(*) FROM clients";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? rs.getInt(1) : 0;
-        } catch (SQLException e) {
-            return 0;
-        }
+    // Refresh a view through the scheduler: reload it if it is on screen, otherwise reload it when next shown
+    private <V extends JComponent> void registerViewRefresh(String name, Class<V> type, Function<V, CompletableFuture<?>> reload) {
+        refreshes.register(name, () -> {
+            V view = views.get(name, type);
+            if (view == null) return CompletableFuture.completedFuture(null); // Not built yet; loads when first shown
+            if (!view.isShowing()) {
+                views.markStale(name);
+                return CompletableFuture.completedFuture(null);
+            }
+            return views.within(name, () -> reload.apply(view));
+        });
     }
 
-    // Get the total number of campaigns
-    private int getCampaignCount() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT COUNT(*) FROM campaigns";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? rs.getInt(1) : 0;
-        } catch (SQLException e) {
-            return 0;
-        }
+    // Show the latest statistics on the cards
+    private void showStats(DashboardStatistics.Snapshot stats) {
+        clientsCardLabel.setText(String.valueOf(stats.clients()));
+        campaignsCardLabel.setText(String.valueOf(stats.campaigns()));
+        paymentsCardLabel.setText("Rs. " + String.format("%.2f", stats.paid()));
+        pendingPaymentsCardLabel.setText("Rs. " + String.format("%.2f", stats.pending()));
     }
 
-    // Get the total amount of paid payments
-    private double getTotalPaidPayments() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT SUM(amount) FROM payments WHERE status = 'Paid'";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? rs.getDouble(1) : 0.0;
-        } catch (SQLException e) {
-            return 0.0;
-        }
+    // Registry of the main panel's views (e.g. to mark one stale after a write that affects it)
+    public ViewRegistry getViews() {
+        return views;
     }
 
-    // Get the total amount of pending payments
-    private double getTotalPendingPayments() {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT SUM(amount) FROM payments WHERE status = 'Pending'";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() ? rs.getDouble(1) : 0.0;
-        } catch (SQLException e) {
-        return 0.0;
-        }
+    // Bus the dialogs and editors publish their writes on
+    public EventBus getEvents() {
+        return events;
+    }
+
+    // Scheduler that coalesces refreshes of the statistic cards and the table views
+    public RefreshScheduler getRefreshes() {
+        return refreshes;
+    }
+
+    // Statistics service that the dialogs and table editors report their writes to
+    public DashboardStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void dispose() {
+        statistics.stop(); // Stop periodic reconciliation
+        refreshes.stop();  // Drop pending refreshes
+        events.clear();    // Release the views' listeners
+        super.dispose();
     }
 
     // Main method to launch the admin dashboard
@@ -359,7 +503,7 @@ class ButtonEditor extends DefaultCellEditor {
         this.parentPanel = parentPanel;
         if ("reply".equals(actionType)) {
             button = new JButton("Reply");
-            button.addActionListener(e -> {
+            button.addActionListener(Trace.action("Reply", e -> {
                 System.out.println("Reply button clicked!"); // DEBUG
                 if (parentPanel instanceof JPanel) {
                     JScrollPane scrollPane = (JScrollPane) ((JPanel) parentPanel).getComponent(0);
@@ -372,25 +516,17 @@ class ButtonEditor extends DefaultCellEditor {
                             DefaultTableModel model = (DefaultTableModel) table.getModel();
                             int id = (int) model.getValueAt(modelRow, 0); // Use hidden ID column
                             String tableName = parentPanel instanceof ClientChangesPanel ? "change_requests" : "feedback";
-                            try (Connection conn = DBConnection.getConnection();
-                                 PreparedStatement stmt = conn.prepareStatement(
-                                    "UPDATE " + tableName + " SET reply=? WHERE id=?")) {
-                                stmt.setString(1, replyText);
-                                stmt.setInt(2, id);
-                                stmt.executeUpdate();
-                                JOptionPane.showMessageDialog((JPanel) parentPanel, "Reply saved!");
-                                if (parentPanel instanceof ClientChangesPanel) ((ClientChangesPanel) parentPanel).loadChangeRequests();
-                                if (parentPanel instanceof ClientFeedbackPanel) ((ClientFeedbackPanel) parentPanel).loadFeedback();
-                            } catch (SQLException ex) {
-                                JOptionPane.showMessageDialog((JPanel) parentPanel, "Error saving reply: " + ex.getMessage());
-                            }
+                            DomainEvent.ReplyTarget target = parentPanel instanceof ClientChangesPanel
+                                    ? DomainEvent.ReplyTarget.CHANGE_REQUEST : DomainEvent.ReplyTarget.FEEDBACK;
+                            saveReply(model, id, 5, "UPDATE " + tableName + " SET reply=? WHERE id=?", replyText, target,
+                                    "Error saving reply: ");
                         }
                     }
                 }
-            });
+            }));
         } else if ("reply_requirement".equals(actionType)) {
             button = new JButton("Reply");
-            button.addActionListener(e -> {
+            button.addActionListener(Trace.action("Requirement response", e -> {
                 System.out.println("Reply to requirement clicked!");
                 if (parentPanel instanceof JPanel) {
                     JScrollPane scrollPane = (JScrollPane) ((JPanel) parentPanel).getComponent(0);
@@ -402,20 +538,12 @@ class ButtonEditor extends DefaultCellEditor {
                             int modelRow = table.convertRowIndexToModel(row);
                             DefaultTableModel model = (DefaultTableModel) table.getModel();
                             int id = (int) model.getValueAt(modelRow, 0);
-                            try (Connection conn = DBConnection.getConnection();
-                                 PreparedStatement stmt = conn.prepareStatement("UPDATE requirements SET admin_response=? WHERE id=?")) {
-                                stmt.setString(1, reply);
-                                stmt.setInt(2, id);
-                                stmt.executeUpdate();
-                                JOptionPane.showMessageDialog((JPanel) parentPanel, "Response saved!");
-                                if (parentPanel instanceof RequirementsPanel) ((RequirementsPanel) parentPanel).loadRequirements();
-                            } catch (SQLException ex) {
-                                JOptionPane.showMessageDialog((JPanel) parentPanel, "Error saving response: " + ex.getMessage());
-                            }
+                            saveReply(model, id, 3, "UPDATE requirements SET admin_response=? WHERE id=?", reply,
+                                    DomainEvent.ReplyTarget.REQUIREMENT, "Error saving response: ");
                         }
                     }
                 }
-            });
+            }));
         } else {
             // For edit/delete in AdminDashboard
             button = new JButton(actionType.equals("edit") ? "Edit" : "Delete");
@@ -426,7 +554,7 @@ class ButtonEditor extends DefaultCellEditor {
                 button.setBackground(new Color(77, 166, 255));
         button.setForeground(Color.WHITE);
             }
-       button.addActionListener(e -> {
+       button.addActionListener(Trace.action("Client " + actionType, e -> {
                 if (parentPanel instanceof AdminDashboard) {
                     JTable table = ((AdminDashboard) parentPanel).clientTable;
         int row = table.getSelectedRow();
@@ -434,32 +562,74 @@ class ButtonEditor extends DefaultCellEditor {
                         int modelRow = table.convertRowIndexToModel(row);
                         if ("edit".equals(actionType)) {
             JFrame parent = (JFrame) SwingUtilities.getWindowAncestor(button);
-                            new EditClientDialog(parent, (DefaultTableModel) table.getModel(), modelRow).setVisible(true);
+                            new EditClientDialog(parent, table.getModel(), modelRow).setVisible(true);
                         } else if ("delete".equals(actionType)) {
                             String clientId = table.getModel().getValueAt(modelRow, 0).toString();
             int confirm = JOptionPane.showConfirmDialog(button,
                     "Are you sure you want to delete client ID " + clientId + "?",
                     "Confirm Delete", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                try (Connection conn = DBConnection.getConnection()) {
-                    PreparedStatement stmt = conn.prepareStatement("DELETE FROM clients WHERE client_id=?");
-                    stmt.setInt(1, Integer.parseInt(clientId));
-                    stmt.executeUpdate();
-                                    ((DefaultTableModel) table.getModel()).removeRow(modelRow);
-                                    ((AdminDashboard) parentPanel).updateStats();
-                    JOptionPane.showMessageDialog(button, "Client deleted.");
-                } catch (SQLException ex) {
-                                    if (ex.getMessage().contains("a foreign key constraint fails")) {
+                                int id = Integer.parseInt(clientId);
+                                AdminDashboard dashboard = (AdminDashboard) parentPanel;
+                                table.setEnabled(false); // Until the delete has finished in the background
+                                DataAccess.query(conn -> {
+                                    try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM clients WHERE client_id=?")) {
+                                        stmt.setInt(1, id);
+                                        return stmt.executeUpdate();
+                                    }
+                                }).whenComplete(DataAccess.onEdt(deleted -> {
+                                    table.setEnabled(true);
+                                    if (deleted == 0) {
+                                        JOptionPane.showMessageDialog(button, "This client no longer exists.");
+                                        return; // Already deleted elsewhere; it is no longer counted
+                                    }
+                                    ClientCache.remove(id);
+                                    dashboard.getEvents().publish(new DomainEvent.ClientChanged(DomainEvent.Change.DELETED, id, null));
+                                    dashboard.getStatistics().clientDeleted();
+                                    JOptionPane.showMessageDialog(button, "Client deleted.");
+                                }, error -> {
+                                    table.setEnabled(true);
+                                    if (String.valueOf(error.getMessage()).contains("a foreign key constraint fails")) {
                                         JOptionPane.showMessageDialog(button, "Cannot delete client: related campaigns or other records exist.", "Delete Error", JOptionPane.WARNING_MESSAGE);
                                     } else {
-                    JOptionPane.showMessageDialog(button, "Error: " + ex.getMessage());
+                                        JOptionPane.showMessageDialog(button, "Error: " + error.getMessage());
                                     }
-                                }
+                                }));
                 }
             }
         }
     }
-});
+}));
+        }
+    }
+    // Show the reply in its row at once and run the UPDATE in the background; if the UPDATE fails,
+    // put the previous value back (unless the row has changed since) and report the error
+    private void saveReply(DefaultTableModel model, int id, int column, String sql, String reply,
+                           DomainEvent.ReplyTarget target, String errorPrefix) {
+        cancelCellEditing(); // The row is patched here; JTable must not write the editor value into it
+        int row = TableRows.indexOf(model, id);
+        Object previous = model.getValueAt(row, column);
+        model.setValueAt(reply, row, column);
+        DataAccess.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, reply);
+                stmt.setInt(2, id);
+                if (stmt.executeUpdate() == 0) throw new SQLException("The item no longer exists.");
+                return null;
+            }
+        }).whenComplete(DataAccess.onEdt(saved -> publishReply(new DomainEvent.ReplySaved(target, id, reply)), error -> {
+            int current = TableRows.indexOf(model, id); // The table may have been reloaded meanwhile
+            if (current >= 0 && reply.equals(model.getValueAt(current, column))) {
+                model.setValueAt(previous, current, column);
+            }
+            JOptionPane.showMessageDialog((JPanel) parentPanel, errorPrefix + error.getMessage());
+        }));
+    }
+
+    // Publish a saved reply on the dashboard's bus so the panel showing it can update the row
+    private void publishReply(DomainEvent.ReplySaved event) {
+        if (SwingUtilities.getWindowAncestor((JPanel) parentPanel) instanceof AdminDashboard dashboard) {
+            dashboard.getEvents().publish(event);
         }
     }
     // Returns the button component for the table cell
@@ -474,9 +644,11 @@ class ButtonEditor extends DefaultCellEditor {
 
 // Panel for displaying and replying to client change requests
 class ClientChangesPanel extends JPanel {
-    private JTable table;
+    private static final String CHANGE_REQUESTS_SQL = "SELECT id, client_id, client_name, message, submitted_at, reply FROM change_requests ORDER BY submitted_at DESC";
+    private LoadingTable table;
     private DefaultTableModel model;
-    public ClientChangesPanel() {
+    private final DataAccess.Latest loads = new DataAccess.Latest();
+    public ClientChangesPanel(EventBus events) {
         setLayout(new BorderLayout());
         model = new DefaultTableModel(new Object[]{"ID", "Client ID", "Client Name", "Message", "Submitted At", "Reply"}, 0) {
             @Override
@@ -484,7 +656,8 @@ class ClientChangesPanel extends JPanel {
                 return col == 5;
             }
         };
-        table = new JTable(model);
+        table = new LoadingTable(model);
+        table.setLoadName("Change requests");
         // Hide the ID column
         table.getColumnModel().getColumn(0).setMinWidth(0);
         table.getColumnModel().getColumn(0).setMaxWidth(0);
@@ -508,16 +681,22 @@ class ClientChangesPanel extends JPanel {
             }
         });
         add(new JScrollPane(table), BorderLayout.CENTER);
+        // Show a saved reply in its row instead of reloading every request
+        events.subscribe(DomainEvent.ReplySaved.class, event -> {
+            if (event.target() == DomainEvent.ReplyTarget.CHANGE_REQUEST) setReply(model, event.id(), 5, event.reply());
+        });
         loadChangeRequests();
     }
     // Load all change requests from the database
-    public void loadChangeRequests() {
-        model.setRowCount(0);
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT id, client_id, client_name, message, submitted_at, reply FROM change_requests ORDER BY submitted_at DESC")) {
+    public CompletableFuture<?> loadChangeRequests() {
+        int ticket = loads.next();
+        table.showLoading();
+        return QueryCache.query(CHANGE_REQUESTS_SQL, List.of(), conn -> {
+            List<Object[]> rows = new ArrayList<>();
+            PreparedStatement stmt = conn.prepareStatement(CHANGE_REQUESTS_SQL);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                model.addRow(new Object[]{
+                rows.add(new Object[]{
                     rs.getInt("id"),
                     rs.getInt("client_id"),
                     rs.getString("client_name"),
@@ -526,17 +705,33 @@ class ClientChangesPanel extends JPanel {
                     rs.getString("reply") == null ? "Reply" : rs.getString("reply")
                 });
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading change requests: " + e.getMessage());
-        }
+            return rows;
+        }).whenComplete(DataAccess.onEdt(rows -> {
+            if (!loads.isCurrent(ticket)) return;
+            model.setRowCount(0);
+            rows.forEach(model::addRow);
+            table.showLoaded();
+        }, error -> {
+            if (!loads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            table.showError("Could not load change requests.");
+            JOptionPane.showMessageDialog(this, "Error loading change requests: " + error.getMessage());
+        }));
+    }
+
+    // Write a reply into the row with this ID (shared by the reply panels)
+    static void setReply(DefaultTableModel model, int id, int column, String reply) {
+        int row = TableRows.indexOf(model, id);
+        if (row >= 0) model.setValueAt(reply, row, column);
     }
 }
 
 // Panel for displaying and replying to client feedback
 class ClientFeedbackPanel extends JPanel {
-    private JTable table;
+    private static final String FEEDBACK_SQL = "SELECT id, client_id, client_name, message, submitted_at, reply FROM feedback ORDER BY submitted_at DESC";
+    private LoadingTable table;
     private DefaultTableModel model;
-    public ClientFeedbackPanel() {
+    private final DataAccess.Latest loads = new DataAccess.Latest();
+    public ClientFeedbackPanel(EventBus events) {
         setLayout(new BorderLayout());
         model = new DefaultTableModel(new Object[]{"ID", "Client ID", "Client Name", "Message", "Submitted At", "Reply"}, 0) {
             @Override
@@ -544,7 +739,8 @@ class ClientFeedbackPanel extends JPanel {
                 return col == 5;
             }
         };
-        table = new JTable(model);
+        table = new LoadingTable(model);
+        table.setLoadName("Client feedback");
         // Hide the ID column
         table.getColumnModel().getColumn(0).setMinWidth(0);
         table.getColumnModel().getColumn(0).setMaxWidth(0);
@@ -568,16 +764,22 @@ class ClientFeedbackPanel extends JPanel {
             }
         });
         add(new JScrollPane(table), BorderLayout.CENTER);
+        // Show a saved reply in its row instead of reloading all feedback
+        events.subscribe(DomainEvent.ReplySaved.class, event -> {
+            if (event.target() == DomainEvent.ReplyTarget.FEEDBACK) ClientChangesPanel.setReply(model, event.id(), 5, event.reply());
+        });
         loadFeedback();
     }
     // Load all feedback from the database
-    public void loadFeedback() {
-        model.setRowCount(0);
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT id, client_id, client_name, message, submitted_at, reply FROM feedback ORDER BY submitted_at DESC")) {
+    public CompletableFuture<?> loadFeedback() {
+        int ticket = loads.next();
+        table.showLoading();
+        return QueryCache.query(FEEDBACK_SQL, List.of(), conn -> {
+            List<Object[]> rows = new ArrayList<>();
+            PreparedStatement stmt = conn.prepareStatement(FEEDBACK_SQL);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                model.addRow(new Object[]{
+                rows.add(new Object[]{
                     rs.getInt("id"),
                     rs.getInt("client_id"),
                     rs.getString("client_name"),
@@ -586,17 +788,26 @@ class ClientFeedbackPanel extends JPanel {
                     rs.getString("reply") == null ? "Reply" : rs.getString("reply")
                 });
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading feedback: " + e.getMessage());
-        }
+            return rows;
+        }).whenComplete(DataAccess.onEdt(rows -> {
+            if (!loads.isCurrent(ticket)) return;
+            model.setRowCount(0);
+            rows.forEach(model::addRow);
+            table.showLoaded();
+        }, error -> {
+            if (!loads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            table.showError("Could not load feedback.");
+            JOptionPane.showMessageDialog(this, "Error loading feedback: " + error.getMessage());
+        }));
     }
 }
 
 // Panel for displaying and replying to client requirements
 class RequirementsPanel extends JPanel {
-    private JTable table;
+    private LoadingTable table;
     private DefaultTableModel model;
-    public RequirementsPanel() {
+    private final DataAccess.Latest loads = new DataAccess.Latest();
+    public RequirementsPanel(EventBus events) {
         setLayout(new BorderLayout());
         model = new DefaultTableModel(new Object[]{"ID", "Client Name", "Requirement", "Admin Response", "Submitted At", "Reply"}, 0) {
             @Override
@@ -604,7 +815,8 @@ class RequirementsPanel extends JPanel {
                 return col == 5;
             }
         };
-        table = new JTable(model);
+        table = new LoadingTable(model);
+        table.setLoadName("Requirements");
         table.getColumnModel().getColumn(0).setMinWidth(0);
         table.getColumnModel().getColumn(0).setMaxWidth(0);
         table.getColumnModel().getColumn(0).setWidth(0);
@@ -626,32 +838,25 @@ class RequirementsPanel extends JPanel {
             }
         });
         add(new JScrollPane(table), BorderLayout.CENTER);
+        // Show a saved response in its row instead of reloading every requirement
+        events.subscribe(DomainEvent.ReplySaved.class, event -> {
+            if (event.target() == DomainEvent.ReplyTarget.REQUIREMENT) ClientChangesPanel.setReply(model, event.id(), 3, event.reply());
+        });
         loadRequirements();
     }
     // Load all requirements from the database
-    public void loadRequirements() {
-        model.setRowCount(0);
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT id, client_id, requirement, admin_response, submitted_at FROM requirements ORDER BY submitted_at DESC")) {
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                String clientName = "";
-                try (PreparedStatement nameStmt = conn.prepareStatement("SELECT name FROM clients WHERE client_id = ?")) {
-                    nameStmt.setInt(1, rs.getInt("client_id"));
-                    ResultSet nameRs = nameStmt.executeQuery();
-                    if (nameRs.next()) clientName = nameRs.getString("name");
-                }
-                model.addRow(new Object[]{
-                    rs.getInt("id"),
-                    clientName,
-                    rs.getString("requirement"),
-                    rs.getString("admin_response"),
-                    rs.getTimestamp("submitted_at"),
-                    "Reply"
-                });
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading requirements: " + e.getMessage());
-        }
+    public CompletableFuture<?> loadRequirements() {
+        int ticket = loads.next();
+        table.showLoading();
+        return QueryCache.query(RequirementsQuery.SQL, List.of(), RequirementsQuery::fetch).whenComplete(DataAccess.onEdt(rows -> {
+            if (!loads.isCurrent(ticket)) return;
+            model.setRowCount(0);
+            rows.forEach(model::addRow);
+            table.showLoaded();
+        }, error -> {
+            if (!loads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            table.showError("Could not load requirements.");
+            JOptionPane.showMessageDialog(this, "Error loading requirements: " + error.getMessage());
+        }));
     }
 }
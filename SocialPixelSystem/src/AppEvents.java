@@ -0,0 +1,159 @@
+import java.awt.Component;
+import java.awt.KeyboardFocusManager;
+import java.awt.Window;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Java Flight Recorder events for database work and UI transitions, shown under "SocialPixel" in JMC.
+// They cost next to nothing unless a recording is running (see ContinuousRecording).
+// Each event carries the class of the window it started from: the window is captured on the EDT and
+// carried to the background thread by DataAccess, like the trace context.
+public class AppEvents {
+    private static final ThreadLocal<Class<?>> WINDOW = new ThreadLocal<>();
+
+    private AppEvents() {
+    }
+
+    // Window class of the code running on this thread: the one handed over by DataAccess, else (on the EDT) the active window
+    public static Class<?> window() {
+        Class<?> window = WINDOW.get();
+        if (window != null || !SwingUtilities.isEventDispatchThread()) return window;
+        Window active = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+        return active == null ? null : active.getClass();
+    }
+
+    // Window class of the component's window, else the active one
+    public static Class<?> windowOf(Object source) {
+        Window window = source instanceof Component c ? SwingUtilities.getWindowAncestor(c) : null;
+        return window != null ? window.getClass() : window();
+    }
+
+    // Run 'action' as if started from 'window'
+    public static <T> T within(Class<?> window, Supplier<T> action) {
+        Class<?> previous = WINDOW.get();
+        if (previous == window) return action.get();
+        WINDOW.set(window);
+        try {
+            return action.get();
+        } finally {
+            WINDOW.set(previous);
+        }
+    }
+
+    // One executed PreparedStatement, including reading its result set (emitted by the JdbcMetrics wrappers)
+    @Name("socialpixel.SqlStatement")
+    @Label("SQL Statement")
+    @Category({"SocialPixel", "Database"})
+    @StackTrace(false)
+    public static final class SqlStatement extends Event {
+        @Label("SQL Fingerprint")
+        @Description("SQL with literals replaced by '?'")
+        public String fingerprint;
+
+        @Label("Rows")
+        @Description("Rows read, or rows changed by an update")
+        public long rows;
+
+        @Label("Connection Wait")
+        @Description("Time the borrow of this statement's connection waited for the pool")
+        @Timespan(Timespan.NANOSECONDS)
+        public long connectionWait;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+
+    // One DataAccess.query(): borrowing a connection and running the work against it
+    @Name("socialpixel.DatabaseWork")
+    @Label("Database Work")
+    @Category({"SocialPixel", "Database"})
+    @StackTrace(false)
+    public static final class DatabaseWork extends Event {
+        @Label("Connection Wait")
+        @Timespan(Timespan.NANOSECONDS)
+        public long connectionWait;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+
+    // A button handler: a dialog save, login, a sidebar click, a table action (wrapped by Trace.action)
+    @Name("socialpixel.UiAction")
+    @Label("UI Action")
+    @Category({"SocialPixel", "UI"})
+    public static final class UiAction extends Event {
+        @Label("Action")
+        public String action;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+
+    // The AdminDashboard showing another card
+    @Name("socialpixel.ViewSwitch")
+    @Label("View Switch")
+    @Category({"SocialPixel", "UI"})
+    @StackTrace(false)
+    public static final class ViewSwitch extends Event {
+        @Label("View")
+        public String view;
+
+        @Label("Previous View")
+        public String previousView;
+
+        @Label("Reloaded")
+        @Description("Whether the view was built or its data reloaded on show")
+        public boolean reloaded;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+
+    // A named table from "Loading..." to rows (or an error) on screen
+    @Name("socialpixel.ViewLoad")
+    @Label("View Load")
+    @Category({"SocialPixel", "UI"})
+    @StackTrace(false)
+    public static final class ViewLoad extends Event {
+        @Label("View")
+        public String view;
+
+        @Label("Rows")
+        public int rows;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+
+    // A ClientDashboard tab's data, from the start of its load to the data on screen
+    @Name("socialpixel.TabLoad")
+    @Label("Client Dashboard Tab Load")
+    @Category({"SocialPixel", "UI"})
+    @StackTrace(false)
+    public static final class TabLoad extends Event {
+        @Label("Tab")
+        public String tab;
+
+        @Label("Failed")
+        public boolean failed;
+
+        @Label("Window")
+        public Class<?> window;
+    }
+}
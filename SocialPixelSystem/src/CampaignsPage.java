@@ -1,16 +1,28 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 
 // Main panel that displays the Campaigns Page UI
 public class CampaignsPage extends JPanel {
-    private JTable campaignTable;
+    private LoadingTable campaignTable;
     private DefaultTableModel tableModel;
     private AdminDashboard adminDashboard;
+    private final DataAccess.Latest loads = new DataAccess.Latest(); // Newest load wins
+    private static final String CAMPAIGNS_SQL = """
+            SELECT ca.campaign_id, ca.name, ca.client_id, c.name as client_name, ca.start_date, ca.end_date, ca.status
+            FROM campaigns ca
+            JOIN clients c ON ca.client_id = c.client_id
+            """;
+    // Pages through campaigns by campaign_id so only one page is ever pulled from MySQL
+    private final KeysetPager pager = newPager();
+    private PaginationBar paginationBar;
+    private LazyTableModel lazyModel; // Scrolling model used instead of pages when enabled
 
     // Constructor accepts AdminDashboard instance for later use
     public CampaignsPage(AdminDashboard adminDashboard) {
@@ -45,8 +57,32 @@ public class CampaignsPage extends JPanel {
         };
 
         // JTable initialization
-        campaignTable = new JTable(tableModel);
-        loadCampaignData(); // Load data from DB
+        if (LazyTableModel.ENABLED) {
+            // One scrolling table over every campaign; rows are fetched around the viewport
+            lazyModel = new LazyTableModel(new String[]{
+                    "ID", "Name", "Client", "Start Date", "End Date", "Status", "Edit", "Delete"
+            }, CAMPAIGNS_SQL, "ca.campaign_id", "campaign_id", "SELECT COUNT(*) FROM campaigns",
+                    CampaignsPage::mapRow, col -> col >= 6);
+            campaignTable = new LoadingTable(lazyModel);
+        } else {
+            campaignTable = new LoadingTable(tableModel);
+        }
+        campaignTable.setLoadName("Campaigns");
+        paginationBar = new PaginationBar(pager,
+                direction -> adminDashboard.getViews().within("Campaigns", () -> loadPage(direction)));
+        paginationBar.setVisible(lazyModel == null);
+        loadCampaignData(); // Load data from DB (in the background)
+
+        // Apply writes made by the dialogs to the rows on screen instead of reloading
+        EventBus events = adminDashboard.getEvents();
+        events.subscribe(DomainEvent.CampaignChanged.class, event -> TableRows.apply(campaignTable.getModel(),
+                event.change(), event.campaignId(), event.row(), !pager.getCurrent().hasNext(),
+                () -> adminDashboard.getRefreshes().request("Campaigns")));
+        events.subscribe(DomainEvent.ClientChanged.class, event -> {
+            if (event.change() == DomainEvent.Change.UPDATED) {
+                TableRows.renameClient(campaignTable.getModel(), 2, new ClientRef(event.clientId(), (String) event.row()[1]));
+            }
+        });
 
         // Set custom renderer and editor for Edit button
         campaignTable.getColumn("Edit").setCellRenderer(new CampaignButtonRenderer("Edit"));
@@ -66,6 +102,16 @@ public class CampaignsPage extends JPanel {
         gbc.weighty = 1.0;
         content.add(scrollPane, gbc);
 
+        // Previous/Next controls under the table
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.weightx = 0;
+        gbc.weighty = 0;
+        content.add(paginationBar, gbc);
+
         // Add Campaign button
         JButton addBtn = new JButton("Add Campaign");
         addBtn.setPreferredSize(new Dimension(160, 32));
@@ -74,7 +120,9 @@ public class CampaignsPage extends JPanel {
         addBtn.setForeground(Color.WHITE);
 
         // Open AddCampaignDialog when clicked
-        addBtn.addActionListener(e -> new AddCampaignDialog(adminDashboard, tableModel).setVisible(true));
+        addBtn.addActionListener(e -> {
+            new AddCampaignDialog(adminDashboard).setVisible(true);
+        });
 
         gbc.gridx = 1;
         gbc.gridy = 2;
@@ -89,35 +137,54 @@ public class CampaignsPage extends JPanel {
         add(content, BorderLayout.CENTER);
     }
 
-    // Load campaign data from database
-    public void loadCampaignData() {
-        tableModel.setRowCount(0); // Clear table
-
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = """
-                SELECT ca.campaign_id, ca.name, c.name as client_name, ca.start_date, ca.end_date, ca.status
-                FROM campaigns ca
-                JOIN clients c ON ca.client_id = c.client_id
-            """;
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-
-            // Add each row from the result set into the table
-            while (rs.next()) {
-                tableModel.addRow(new Object[]{
-                        rs.getInt("campaign_id"),
-                        rs.getString("name"),
-                        rs.getString("client_name"),
-                        rs.getDate("start_date"),
-                        rs.getDate("end_date"),
-                        rs.getString("status"),
-                        "Edit",
-                        "Delete"
-                });
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // Load campaign data from database (reloads the page on screen)
+    public CompletableFuture<?> loadCampaignData() {
+        if (lazyModel != null) {
+            campaignTable.showLoading();
+            return lazyModel.refresh().whenComplete(DataAccess.onEdt(count -> campaignTable.showLoaded(),
+                    error -> campaignTable.showError("Could not load campaigns: " + error.getMessage())));
         }
+        return loadPage(KeysetPager.Direction.CURRENT);
+    }
+
+    // Fetch one page of campaigns in the background and show it
+    public CompletableFuture<?> loadPage(KeysetPager.Direction direction) {
+        int ticket = loads.next();
+        campaignTable.showLoading();
+        paginationBar.setBusy(true);
+
+        return DataAccess.query(conn -> pager.fetch(conn, direction, CampaignsPage::mapRow)).whenComplete(DataAccess.onEdt(page -> {
+            if (!loads.isCurrent(ticket)) return;
+            pager.accept(page);
+            tableModel.setRowCount(0); // Clear table
+            page.rows().forEach(tableModel::addRow);
+            campaignTable.showLoaded();
+            paginationBar.update(page);
+        }, error -> {
+            if (!loads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            error.printStackTrace();
+            campaignTable.showError("Could not load campaigns: " + error.getMessage());
+            paginationBar.update(pager.getCurrent());
+        }));
+    }
+
+    // Pager over the campaigns (also used by the JMH benchmarks)
+    static KeysetPager newPager() {
+        return new KeysetPager(CAMPAIGNS_SQL, "ca.campaign_id", "campaign_id", "campaigns");
+    }
+
+    // Map one campaigns row to a table row
+    static Object[] mapRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+                rs.getInt("campaign_id"),
+                rs.getString("name"),
+                new ClientRef(rs.getInt("client_id"), rs.getString("client_name")), // Renders as the name
+                rs.getDate("start_date"),
+                rs.getDate("end_date"),
+                rs.getString("status"),
+                "Edit",
+                "Delete"
+        };
     }
 
     // Getter for AdminDashboard instance
@@ -165,19 +232,18 @@ class CampaignButtonEditor extends DefaultCellEditor {
         button.setBackground(actionType.equals("edit") ? new Color(77, 166, 255) : new Color(255, 102, 102));
 
         // Define button click behavior
-        button.addActionListener(e -> {
+        button.addActionListener(Trace.action("Campaign " + actionType, e -> {
             JTable table = (JTable) SwingUtilities.getAncestorOfClass(JTable.class, button);
             if (table != null) {
                 int viewRow = table.getSelectedRow();
                 if (viewRow < 0) return;
 
                 int modelRow = table.convertRowIndexToModel(viewRow);
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
+                TableModel model = table.getModel();
 
                 // Edit button clicked
                 if (actionType.equals("edit")) {
                     new EditCampaignDialog(campaignsPage.getAdminDashboard(), model, modelRow).setVisible(true);
-                    campaignsPage.loadCampaignData(); // Reload data after editing
 
                 // Delete button clicked
                 } else if (actionType.equals("delete")) {
@@ -187,22 +253,30 @@ class CampaignButtonEditor extends DefaultCellEditor {
                             "Confirm Delete", JOptionPane.YES_NO_OPTION);
 
                     if (confirm == JOptionPane.YES_OPTION) {
-                        try (Connection conn = DBConnection.getConnection()) {
-                            PreparedStatement stmt = conn.prepareStatement("DELETE FROM campaigns WHERE campaign_id = ?");
-                            stmt.setInt(1, campaignId);
-                            stmt.executeUpdate();
-
-                            model.removeRow(modelRow); // Remove row from table
-                            campaignsPage.getAdminDashboard().updateStats(); // Update dashboard stats
-                            campaignsPage.loadCampaignData(); // Reload table
+                        table.setEnabled(false); // Until the delete has finished in the background
+                        DataAccess.query(conn -> {
+                            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM campaigns WHERE campaign_id = ?")) {
+                                stmt.setInt(1, campaignId);
+                                return stmt.executeUpdate();
+                            }
+                        }).whenComplete(DataAccess.onEdt(deleted -> {
+                            table.setEnabled(true);
+                            if (deleted == 0) {
+                                JOptionPane.showMessageDialog(button, "This campaign no longer exists.");
+                                return; // Already deleted elsewhere; it is no longer counted
+                            }
+                            campaignsPage.getAdminDashboard().getEvents().publish(new DomainEvent.CampaignChanged(
+                                    DomainEvent.Change.DELETED, campaignId, null)); // Remove row from table
+                            campaignsPage.getAdminDashboard().getStatistics().campaignDeleted(); // Update dashboard stats
                             JOptionPane.showMessageDialog(button, "Campaign deleted.");
-                        } catch (SQLException ex) {
-                            JOptionPane.showMessageDialog(button, "Error: " + ex.getMessage());
-                        }
+                        }, error -> {
+                            table.setEnabled(true);
+                            JOptionPane.showMessageDialog(button, "Error: " + error.getMessage());
+                        }));
                     }
                 }
             }
-        });
+        }));
     }
 
     // Component that gets displayed when editing cell
@@ -0,0 +1,123 @@
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+// Cancellation token for the queries issued on behalf of one view.
+// DataAccess.query() picks up the token that is current on the calling thread (see within()), and every
+// statement prepared while that work holds a connection is registered with it. cancel() stops those
+// statements in MySQL (Statement.cancel(), i.e. KILL QUERY) so their connections go back to the pool for the
+// next view, and work that has not started yet never borrows one. A cancelled token stays cancelled.
+public final class CancelToken {
+    private static final ThreadLocal<CancelToken> CURRENT = new ThreadLocal<>();
+
+    private volatile boolean cancelled;
+    private int inFlight;                                   // Guarded by this
+    private final Set<Statement> statements = new HashSet<>(); // Guarded by this
+    private Statement cancelling;                           // Guarded by this; the statement cancelAll() is stopping
+
+    // Token of the code running on this thread, or null
+    public static CancelToken current() {
+        return CURRENT.get();
+    }
+
+    // Run 'action' with 'token' as the current token (null runs it without one)
+    public static <T> T within(CancelToken token, Supplier<T> action) {
+        CancelToken previous = CURRENT.get();
+        CURRENT.set(token);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void within(CancelToken token, Runnable action) {
+        within(token, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Cancel the token and stop its running statements (in the background: cancelling is a round-trip).
+    // Returns whether any work was still in flight.
+    public boolean cancel() {
+        List<Statement> running;
+        synchronized (this) {
+            if (cancelled) return false;
+            cancelled = true;
+            if (inFlight == 0) return false;
+            running = new ArrayList<>(statements);
+        }
+        if (!running.isEmpty()) {
+            Thread.startVirtualThread(() -> cancelAll(running));
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) throw new CancellationException("Load cancelled");
+    }
+
+    // Bracket one unit of work run on behalf of this token
+    synchronized void enter() {
+        throwIfCancelled();
+        inFlight++;
+    }
+
+    synchronized void exit() {
+        inFlight--;
+    }
+
+    // Called by the connection pool for each statement prepared under this token; once the token is
+    // cancelled no new statement is handed out
+    synchronized void register(Statement statement) {
+        throwIfCancelled();
+        statements.add(statement);
+    }
+
+    // Called by the connection pool before the statements go back to its statement cache, where another
+    // borrower may reuse them; waits out a Statement.cancel() that is still running on one of them
+    synchronized void unregister(Collection<Statement> released) {
+        boolean interrupted = false;
+        while (cancelling != null && released.contains(cancelling)) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        statements.removeAll(released);
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // Cancel each statement outside the lock (each is a round-trip to the server), so register() and
+    // unregister() for the other statements do not queue behind the whole batch
+    private void cancelAll(List<Statement> running) {
+        for (Statement statement : running) {
+            synchronized (this) {
+                if (!statements.contains(statement)) continue; // Already handed back to the pool
+                cancelling = statement;
+            }
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+                // Finished or broken meanwhile; the timeout still bounds it
+            } finally {
+                synchronized (this) {
+                    cancelling = null;
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
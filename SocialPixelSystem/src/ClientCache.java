@@ -0,0 +1,192 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+// Bounded in-memory cache of client rows keyed by client_id, with a secondary index by username.
+// Reads go to MySQL only on a miss or once an entry is older than TTL_MS; the dialogs that write clients
+// update or remove the cached row themselves (write-through), so it does not go stale from our own writes.
+public class ClientCache {
+    private static final int MAX_CLIENTS = Integer.getInteger("socialpixel.clientCache.size", 1_000);
+    private static final long TTL_MS = Long.getLong("socialpixel.clientCache.ttlMs", 300_000);
+
+    private static final String SELECT = "SELECT client_id, name, username, email, phone, industry, contact_info, nic FROM clients";
+
+    // One client row as cached
+    public record Client(int id, String name, String username, String email, String phone,
+                         String industry, String contactInfo, String nic) {
+        // Fields the client edits on their own dashboard
+        public Client withDetails(String name, String email, String phone, String industry) {
+            return new Client(id, name, username, email, phone, industry, contactInfo, nic);
+        }
+
+        // Fields the admin edits in EditClientDialog
+        public Client withAdminFields(String name, String contactInfo, String nic, String industry) {
+            return new Client(id, name, username, email, phone, industry, contactInfo, nic);
+        }
+    }
+
+    // Cache counters at a point in time
+    public record Stats(long hits, long misses, long evictions, long expirations, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d evictions=%d expirations=%d size=%d hitRate=%.1f%%",
+                    hits, misses, evictions, expirations, size, hitRate() * 100);
+        }
+    }
+
+    private record Entry(Client client, long loadedAt) {}
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong EXPIRATIONS = new AtomicLong();
+
+    // All guarded by ClientCache.class
+    private static final Map<Integer, Entry> byId = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            if (size() <= MAX_CLIENTS) return false;
+            EVICTIONS.incrementAndGet();
+            unindex(eldest.getValue().client());
+            return true;
+        }
+    };
+    private static final Map<String, Integer> byUsername = new HashMap<>();
+    // Bumped by every write-through, so a load that raced one does not cache the row it read before it
+    private static long writes;
+
+    // The client with this ID, from the cache or the database (null if there is none)
+    public static Client get(Connection conn, int clientId) throws SQLException {
+        Client cached = lookup(clientId);
+        if (cached != null) return cached;
+        return load(conn, " WHERE client_id = ?", stmt -> stmt.setInt(1, clientId));
+    }
+
+    // The ID of the client who logs in with this username, or -1
+    public static int idForUsername(Connection conn, String username) throws SQLException {
+        Integer id;
+        synchronized (ClientCache.class) {
+            id = byUsername.get(username);
+        }
+        Client client = id != null ? lookup(id) : null;
+        if (client == null || !Objects.equals(client.username(), username)) {
+            client = load(conn, " WHERE username = ?", stmt -> stmt.setString(1, username));
+        }
+        return client == null ? -1 : client.id();
+    }
+
+    // Write-through after an INSERT, or after an UPDATE when the full row is known
+    public static synchronized void put(Client client) {
+        writes++;
+        store(client);
+    }
+
+    // Write-through after an UPDATE of some columns; a client that is not cached is read fresh later
+    public static synchronized void update(int clientId, UnaryOperator<Client> change) {
+        writes++;
+        Entry entry = byId.get(clientId);
+        if (entry != null) store(change.apply(entry.client()));
+    }
+
+    // Write-through after a DELETE
+    public static synchronized void remove(int clientId) {
+        writes++;
+        evict(clientId);
+    }
+
+    public static synchronized void clear() {
+        writes++;
+        byId.clear();
+        byUsername.clear();
+    }
+
+    public static synchronized Stats getStats() {
+        return new Stats(HITS.get(), MISSES.get(), EVICTIONS.get(), EXPIRATIONS.get(), byId.size());
+    }
+
+    public static void resetStats() {
+        HITS.set(0);
+        MISSES.set(0);
+        EVICTIONS.set(0);
+        EXPIRATIONS.set(0);
+    }
+
+    // Cached client if present and not expired; counts the hit or miss
+    private static synchronized Client lookup(int clientId) {
+        Entry entry = byId.get(clientId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt() > TTL_MS) {
+            EXPIRATIONS.incrementAndGet();
+            evict(clientId);
+            entry = null;
+        }
+        if (entry == null) {
+            MISSES.incrementAndGet();
+            return null;
+        }
+        HITS.incrementAndGet();
+        return entry.client();
+    }
+
+    // Binds the parameters of a lookup query
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    // Read one client row (outside the lock) and cache it, unless a write-through happened meanwhile:
+    // the row read may predate that write, and caching it would undo it until the entry expires
+    private static Client load(Connection conn, String where, Binder binder) throws SQLException {
+        long seen;
+        synchronized (ClientCache.class) {
+            seen = writes;
+        }
+        Client client = null;
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT + where)) {
+            binder.bind(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    client = new Client(rs.getInt("client_id"), rs.getString("name"), rs.getString("username"),
+                            rs.getString("email"), rs.getString("phone"), rs.getString("industry"),
+                            rs.getString("contact_info"), rs.getString("nic"));
+                }
+            }
+        }
+        if (client != null) {
+            synchronized (ClientCache.class) {
+                if (writes == seen) store(client);
+            }
+        }
+        return client;
+    }
+
+    private static void store(Client client) {
+        Entry old = byId.put(client.id(), new Entry(client, System.currentTimeMillis()));
+        if (old != null) unindex(old.client());
+        index(client);
+    }
+
+    private static void evict(int clientId) {
+        Entry old = byId.remove(clientId);
+        if (old != null) unindex(old.client());
+    }
+
+    private static void index(Client client) {
+        if (client.username() != null) byUsername.put(client.username(), client.id());
+    }
+
+    private static void unindex(Client client) {
+        if (client.username() != null) byUsername.remove(client.username(), client.id());
+    }
+}
@@ -6,10 +6,19 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -24,11 +33,15 @@ import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.table.DefaultTableModel;
-import javax.swing.JTable;
 
 // Main class for the client dashboard window
 public class ClientDashboard extends javax.swing.JFrame {
+    private static final Logger LOG = Logger.getLogger(ClientDashboard.class.getName());
+    // Load the other tabs in the background once the details are shown, instead of waiting for their first selection
+    private static final boolean PREFETCH_TABS = !Boolean.getBoolean("socialpixel.clientDashboard.lazyTabsOnly");
+
     // Declare UI components and variables
     private JProgressBar campaignProgress;
     private JTextArea notificationsArea;
@@ -40,13 +53,22 @@ public class ClientDashboard extends javax.swing.JFrame {
     private int clientId;
     private JButton logout;
     private String clientName = "";
+    private final long openedAt = System.nanoTime();                 // For time-to-first-paint logging
+    private final Map<Component, Runnable> pendingTabs = new LinkedHashMap<>(); // Tabs whose data is not loaded yet
 
     // Constructor: initializes dashboard for a specific client
     public ClientDashboard(int clientId) {
         this.clientId = clientId; // Store client ID
-        fetchClientName(); // Get client name from DB
+        EdtWatchdog.start(); // Report UI freezes (no-op if already running)
+        ContinuousRecording.startIfConfigured(); // -Dsocialpixel.jfr.continuous=true
         initComponents(); // Set up window basics
         initializeCustomComponents(); // Build custom UI
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                logFirstPaint("Window");
+            }
+        });
     }
 
     // Set up window properties
@@ -99,16 +121,17 @@ public class ClientDashboard extends javax.swing.JFrame {
         clientDetailsPanel.add(saveDetailsButton, gbc);
         // Show latest campaign status only (no admin remarks)
         gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2; gbc.anchor = GridBagConstraints.WEST;
-        JLabel campaignStatusLabel = new JLabel("Campaign Status: ");
+        JLabel campaignStatusLabel = new JLabel("Campaign Status: " + LoadingTable.LOADING);
         clientDetailsPanel.add(campaignStatusLabel, gbc);
         tabbedPane.addTab("Client Details", clientDetailsPanel);
-        saveDetailsButton.addActionListener(e -> saveClientDetails());
+        saveDetailsButton.addActionListener(Trace.action("Client details: save", e -> saveClientDetails()));
         loadClientDetails();
         loadLatestCampaignStatus(campaignStatusLabel);
 
         // --- Feedback Tab ---
         JPanel feedbackPanel = new JPanel(new BorderLayout());
-        JTable feedbackTable = new JTable(new DefaultTableModel(new Object[]{"Message", "Admin Reply", "Submitted At"}, 0));
+        LoadingTable feedbackTable = new LoadingTable(new DefaultTableModel(new Object[]{"Message", "Admin Reply", "Submitted At"}, 0));
+        feedbackTable.setLoadName("Client: Feedback");
         feedbackPanel.add(new JScrollPane(feedbackTable), BorderLayout.CENTER);
         JPanel feedbackInputPanel = new JPanel(new BorderLayout());
         feedbackInputPanel.add(new JLabel("Enter your feedback:"), BorderLayout.NORTH);
@@ -118,14 +141,15 @@ public class ClientDashboard extends javax.swing.JFrame {
         feedbackInputPanel.add(submitFeedback, BorderLayout.SOUTH);
         feedbackPanel.add(feedbackInputPanel, BorderLayout.SOUTH);
         tabbedPane.addTab("Feedback", feedbackPanel);
-        loadClientFeedback((DefaultTableModel) feedbackTable.getModel());
-        submitFeedback.addActionListener(e -> submitFeedbackRequest((DefaultTableModel) feedbackTable.getModel()));
+        deferTab(feedbackPanel, "Feedback", () -> loadClientFeedback(feedbackTable));
+        submitFeedback.addActionListener(Trace.action("Feedback: submit", e -> submitFeedbackRequest(submitFeedback, feedbackTable)));
 
         // --- Requirements Tab ---
         JPanel requirementsPanel = new JPanel(new BorderLayout());
         JTextArea requirementArea = new JTextArea(5, 30);
         JButton submitRequirement = new JButton("Submit Requirement");
-        JTable requirementsTable = new JTable(new DefaultTableModel(new Object[]{"Requirement", "Admin Response", "Submitted At"}, 0));
+        LoadingTable requirementsTable = new LoadingTable(new DefaultTableModel(new Object[]{"Requirement", "Admin Response", "Submitted At"}, 0));
+        requirementsTable.setLoadName("Client: Requirements");
         requirementsPanel.add(new JScrollPane(requirementsTable), BorderLayout.CENTER);
         JPanel reqInputPanel = new JPanel(new BorderLayout());
         reqInputPanel.add(new JLabel("Enter your requirement:"), BorderLayout.NORTH);
@@ -133,18 +157,22 @@ public class ClientDashboard extends javax.swing.JFrame {
         reqInputPanel.add(submitRequirement, BorderLayout.SOUTH);
         requirementsPanel.add(reqInputPanel, BorderLayout.SOUTH);
         tabbedPane.addTab("Requirements", requirementsPanel);
-        loadClientRequirements((DefaultTableModel) requirementsTable.getModel());
-        submitRequirement.addActionListener(e -> submitRequirement(requirementArea, (DefaultTableModel) requirementsTable.getModel()));
+        deferTab(requirementsPanel, "Requirements", () -> loadClientRequirements(requirementsTable));
+        submitRequirement.addActionListener(Trace.action("Requirement: submit", e -> submitRequirement(submitRequirement, requirementArea, requirementsTable)));
 
         // --- Payments Tab ---
         JPanel paymentsPanel = new JPanel(new BorderLayout());
-        JTable paymentsTable = new JTable(new DefaultTableModel(new Object[]{"Amount", "Date", "Method", "Status"}, 0));
+        LoadingTable paymentsTable = new LoadingTable(new DefaultTableModel(new Object[]{"Amount", "Date", "Method", "Status"}, 0));
+        paymentsTable.setLoadName("Client: Payments");
         paymentsPanel.add(new JScrollPane(paymentsTable), BorderLayout.CENTER);
         tabbedPane.addTab("Payments", paymentsPanel);
-        loadClientPayments((DefaultTableModel) paymentsTable.getModel());
+        deferTab(paymentsPanel, "Payments", () -> loadClientPayments(paymentsTable));
+        // A tab not loaded yet loads when it is first selected
+        tabbedPane.addChangeListener(e -> loadTab(tabbedPane.getSelectedComponent()));
 
         mainPanel.add(tabbedPane, BorderLayout.CENTER);
         getContentPane().add(mainPanel, BorderLayout.CENTER);
+        getContentPane().add(new ConnectionStatusBar(), BorderLayout.SOUTH); // Shown only while the database is degraded/offline
 
         // Logout button action: return to login window
         logout.addActionListener(e -> {
@@ -169,122 +197,150 @@ public class ClientDashboard extends javax.swing.JFrame {
         }
     }
 
-    // Load client details from the database
+    // Load client details from the database (in the background)
     private void loadClientDetails() {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT name, email, phone, industry FROM clients WHERE client_id = ?")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                nameField.setText(rs.getString("name"));
-                emailField.setText(rs.getString("email"));
-                phoneField.setText(rs.getString("phone"));
-                industryField.setText(rs.getString("industry"));
+        saveDetailsButton.setEnabled(false); // Nothing to save until the details arrive
+        DataAccess.query(conn -> ClientCache.get(conn, clientId)).whenComplete(DataAccess.onEdt(client -> {
+            if (client != null) {
+                clientName = client.name(); // Used when submitting feedback
+                nameField.setText(client.name());
+                emailField.setText(client.email());
+                phoneField.setText(client.phone());
+                industryField.setText(client.industry());
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading client details: " + e.getMessage());
-        }
+            saveDetailsButton.setEnabled(true);
+            logFirstPaint("Client Details tab");
+            prefetchTabs();
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error loading client details: " + error.getMessage());
+            prefetchTabs();
+        }));
     }
 
-    // Save client details to the database
-    private void saveClientDetails() {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("UPDATE clients SET name=?, email=?, phone=?, industry=? WHERE client_id=?")) {
-            stmt.setString(1, nameField.getText().trim());
-            stmt.setString(2, emailField.getText().trim());
-            stmt.setString(3, phoneField.getText().trim());
-            stmt.setString(4, industryField.getText().trim());
-            stmt.setInt(5, clientId);
-            stmt.executeUpdate();
-            JOptionPane.showMessageDialog(this, "Details updated successfully!");
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error updating details: " + e.getMessage());
-        }
+    // Register a tab whose data is loaded on first selection (or by prefetchTabs); each load is a JFR TabLoad event
+    private void deferTab(JPanel tab, String title, Supplier<CompletableFuture<Void>> loader) {
+        pendingTabs.put(tab, () -> {
+            AppEvents.TabLoad event = new AppEvents.TabLoad();
+            event.begin();
+            loader.get().whenComplete((done, error) -> {
+                if (error == null) logFirstPaint(title + " tab");
+                if (event.shouldCommit()) {
+                    event.tab = title;
+                    event.failed = error != null;
+                    event.window = ClientDashboard.class;
+                    event.commit();
+                }
+            });
+        });
     }
 
-    // Fetch the client's name from the database
-    private void fetchClientName() {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT name FROM clients WHERE client_id = ?")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                clientName = rs.getString("name");
+    // Load a deferred tab's data if it has not been loaded yet
+    private void loadTab(Component tab) {
+        Runnable loader = pendingTabs.remove(tab);
+        if (loader != null) loader.run();
+    }
+
+    // Start every tab that is still pending; each query runs on its own virtual thread, so they load in parallel
+    private void prefetchTabs() {
+        if (!PREFETCH_TABS) return;
+        new ArrayList<>(pendingTabs.keySet()).forEach(this::loadTab);
+    }
+
+    // Log how long after the window was created something reached the screen.
+    // Queued behind the repaint that the preceding UI change scheduled, so it runs once that paint is done.
+    private void logFirstPaint(String what) {
+        SwingUtilities.invokeLater(() -> LOG.info(String.format("Client dashboard: %s painted %d ms after open",
+                what, (System.nanoTime() - openedAt) / 1_000_000)));
+    }
+
+    // Save client details to the database (in the background)
+    private void saveClientDetails() {
+        String name = nameField.getText().trim();
+        String email = emailField.getText().trim();
+        String phone = phoneField.getText().trim();
+        String industry = industryField.getText().trim();
+        saveDetailsButton.setEnabled(false); // Until the update has finished
+        DataAccess.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE clients SET name=?, email=?, phone=?, industry=? WHERE client_id=?")) {
+                stmt.setString(1, name);
+                stmt.setString(2, email);
+                stmt.setString(3, phone);
+                stmt.setString(4, industry);
+                stmt.setInt(5, clientId);
+                return stmt.executeUpdate();
             }
-        } catch (SQLException e) {
-            clientName = "";
-        }
+        }).whenComplete(DataAccess.onEdt(updated -> {
+            saveDetailsButton.setEnabled(true);
+            ClientCache.update(clientId, client -> client.withDetails(name, email, phone, industry));
+            JOptionPane.showMessageDialog(this, "Details updated successfully!");
+        }, error -> {
+            saveDetailsButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error updating details: " + error.getMessage());
+        }));
     }
 
-    // Submit feedback to the database and reload the table
-    private void submitFeedbackRequest(DefaultTableModel model) {
+    // Submit feedback to the database (in the background) and reload the table
+    private void submitFeedbackRequest(JButton button, LoadingTable table) {
         String message = feedbackArea.getText().trim();
         if (message.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please enter feedback.");
             return;
         }
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("INSERT INTO feedback (client_id, client_name, message, submitted_at) VALUES (?, ?, ?, NOW())")) {
-            stmt.setInt(1, clientId);
-            stmt.setString(2, clientName);
-            stmt.setString(3, message);
-            stmt.executeUpdate();
+        String name = clientName;
+        button.setEnabled(false); // Until the insert has finished
+        DataAccess.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO feedback (client_id, client_name, message, submitted_at) VALUES (?, ?, ?, NOW())")) {
+                stmt.setInt(1, clientId);
+                stmt.setString(2, name);
+                stmt.setString(3, message);
+                return stmt.executeUpdate();
+            }
+        }).whenComplete(DataAccess.onEdt(inserted -> {
+            button.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Feedback submitted!");
             feedbackArea.setText("");
-            loadClientFeedback(model);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error submitting feedback: " + e.getMessage());
-        }
+            loadClientFeedback(table);
+        }, error -> {
+            button.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error submitting feedback: " + error.getMessage());
+        }));
     }
 
-    // Load feedback for this client from the database
-    private void loadClientFeedback(DefaultTableModel model) {
-        model.setRowCount(0);
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT message, reply, submitted_at FROM feedback WHERE client_id = ? ORDER BY submitted_at DESC")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                model.addRow(new Object[]{rs.getString("message"), rs.getString("reply"), rs.getTimestamp("submitted_at")});
-            }
-        } catch (SQLException e) {
-            // Optionally show error
-        }
+    // Load feedback for this client from the database (in the background)
+    private CompletableFuture<Void> loadClientFeedback(LoadingTable table) {
+        return loadClientTable(table, "SELECT message, reply, submitted_at FROM feedback WHERE client_id = ? ORDER BY submitted_at DESC",
+                rs -> new Object[]{rs.getString("message"), rs.getString("reply"), rs.getTimestamp("submitted_at")});
     }
 
-    // Load requirements for this client from the database
-    private void loadClientRequirements(DefaultTableModel model) {
-        model.setRowCount(0);
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT requirement, admin_response, submitted_at FROM requirements WHERE client_id = ? ORDER BY submitted_at DESC")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                model.addRow(new Object[]{rs.getString("requirement"), rs.getString("admin_response"), rs.getTimestamp("submitted_at")});
-            }
-        } catch (SQLException e) {
-            // Optionally show error
-        }
+    // Load requirements for this client from the database (in the background)
+    private CompletableFuture<Void> loadClientRequirements(LoadingTable table) {
+        return loadClientTable(table, "SELECT requirement, admin_response, submitted_at FROM requirements WHERE client_id = ? ORDER BY submitted_at DESC",
+                rs -> new Object[]{rs.getString("requirement"), rs.getString("admin_response"), rs.getTimestamp("submitted_at")});
     }
 
-    // Submit a new requirement to the database and reload the table
-    private void submitRequirement(JTextArea area, DefaultTableModel model) {
+    // Submit a new requirement to the database (in the background) and reload the table
+    private void submitRequirement(JButton button, JTextArea area, LoadingTable table) {
         String req = area.getText().trim();
         if (req.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please enter a requirement.");
             return;
         }
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("INSERT INTO requirements (client_id, requirement, submitted_at) VALUES (?, ?, NOW())")) {
-            stmt.setInt(1, clientId);
-            stmt.setString(2, req);
-            stmt.executeUpdate();
+        button.setEnabled(false); // Until the insert has finished
+        DataAccess.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO requirements (client_id, requirement, submitted_at) VALUES (?, ?, NOW())")) {
+                stmt.setInt(1, clientId);
+                stmt.setString(2, req);
+                return stmt.executeUpdate();
+            }
+        }).whenComplete(DataAccess.onEdt(inserted -> {
+            button.setEnabled(true);
             JOptionPane.showMessageDialog(this, "Requirement submitted!");
             area.setText("");
-            loadClientRequirements(model);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error submitting requirement: " + e.getMessage());
-        }
+            loadClientRequirements(table);
+        }, error -> {
+            button.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error submitting requirement: " + error.getMessage());
+        }));
     }
 
     // Load all campaigns for this client and show in the campaigns table
@@ -305,41 +361,63 @@ public class ClientDashboard extends javax.swing.JFrame {
         }
     }
 
-    // Load all payments for this client and show in the payments table
-    private void loadClientPayments(DefaultTableModel model) {
-        model.setRowCount(0);
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("SELECT amount, payment_date, method, status FROM payments WHERE client_id = ?")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                model.addRow(new Object[]{
+    // Load all payments for this client and show in the payments table (in the background)
+    private CompletableFuture<Void> loadClientPayments(LoadingTable table) {
+        return loadClientTable(table, "SELECT amount, payment_date, method, status FROM payments WHERE client_id = ?",
+                rs -> new Object[]{
                     rs.getDouble("amount"),
                     rs.getDate("payment_date"),
                     rs.getString("method"),
                     rs.getString("status")
                 });
+    }
+
+    // Maps the current ResultSet row to a table row
+    private interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+
+    // Run a per-client query in the background and replace the table's rows with the result;
+    // completes on the EDT once the rows are in the table
+    private CompletableFuture<Void> loadClientTable(LoadingTable table, String sql, RowMapper mapper) {
+        DefaultTableModel model = (DefaultTableModel) table.getModel();
+        CompletableFuture<Void> shown = new CompletableFuture<>();
+        table.showLoading();
+        QueryCache.query(sql, List.of(clientId), conn -> {
+            List<Object[]> rows = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, clientId);
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
             }
-        } catch (SQLException e) {
-            // Optionally show error
-        }
+            return rows;
+        }).whenComplete(DataAccess.onEdt(rows -> {
+            model.setRowCount(0);
+            rows.forEach(model::addRow);
+            table.showLoaded();
+            shown.complete(null);
+        }, error -> {
+            table.showError("Could not load data.");
+            shown.completeExceptionally(error);
+        }));
+        return shown;
     }
 
-    // Load the latest campaign's status for this client (no admin remarks)
+    // Load the latest campaign's status for this client (no admin remarks, in the background)
     private void loadLatestCampaignStatus(JLabel statusLabel) {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT status FROM campaigns WHERE client_id = ? ORDER BY end_date DESC LIMIT 1")) {
-            stmt.setInt(1, clientId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                statusLabel.setText("Campaign Status: " + rs.getString("status"));
-            } else {
-                statusLabel.setText("Campaign Status: No campaigns found.");
+        DataAccess.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT status FROM campaigns WHERE client_id = ? ORDER BY end_date DESC LIMIT 1")) {
+                stmt.setInt(1, clientId);
+                ResultSet rs = stmt.executeQuery();
+                return rs.next() ? rs.getString("status") : null;
             }
-        } catch (SQLException e) {
-            statusLabel.setText("Campaign Status: No campaigns found.");
-        }
+        }).whenComplete(DataAccess.onEdt(status -> statusLabel.setText(status != null
+                        ? "Campaign Status: " + status
+                        : "Campaign Status: No campaigns found."),
+                error -> statusLabel.setText("Campaign Status: No campaigns found.")));
     }
 
     // Main method for testing: launches dashboard for client ID 1
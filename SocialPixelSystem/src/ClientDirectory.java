@@ -0,0 +1,46 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+
+// Client list behind the client pickers in the payment and campaign dialogs.
+// It is read once through the QueryCache and shared by every dialog; any write to clients invalidates it.
+public class ClientDirectory {
+    private static final String CLIENTS_SQL = "SELECT client_id, name FROM clients ORDER BY name";
+
+    // Load the clients, or return the load already done / in flight
+    public static CompletableFuture<List<ClientRef>> load() {
+        return QueryCache.query(CLIENTS_SQL, List.of(), ClientDirectory::fetch);
+    }
+
+    // Fill a picker in the background and select 'current' (a ClientRef, or a client name from older rows)
+    public static void populate(JComboBox<ClientRef> combo, Object current) {
+        load().whenComplete(DataAccess.onEdt(list -> {
+            DefaultComboBoxModel<ClientRef> model = new DefaultComboBoxModel<>(list.toArray(new ClientRef[0]));
+            for (ClientRef client : list) {
+                if (current instanceof ClientRef ref ? client.id() == ref.id() : Objects.equals(client.name(), current)) {
+                    model.setSelectedItem(client);
+                    break;
+                }
+            }
+            combo.setModel(model);
+        }, Throwable::printStackTrace)); // Print error to console if loading fails
+    }
+
+    private static List<ClientRef> fetch(Connection conn) throws SQLException {
+        List<ClientRef> list = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(CLIENTS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                list.add(new ClientRef(rs.getInt("client_id"), rs.getString("name")));
+            }
+        }
+        return List.copyOf(list);
+    }
+}
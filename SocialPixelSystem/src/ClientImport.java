@@ -0,0 +1,378 @@
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Bulk import of client accounts from a CSV file (the "Import Clients" button on the admin dashboard).
+//
+// The file is read one record at a time. Each row is checked with the registration rules (ClientRules)
+// and against the NICs and usernames already taken, which are loaded into memory once up front instead
+// of being queried per row. Accepted rows are inserted with JDBC batches and committed every
+// socialpixel.import.chunkSize rows, so a cancelled or failed import keeps what was committed before it.
+// Rejected rows are written to <file>.errors.csv with their line number and the reason.
+//
+// Columns are matched by header name in any order: nic, name, username, password and industry are
+// required; email, phone and requirement are optional. A requirement becomes the client's first
+// requirement, as on registration.
+public class ClientImport {
+    private static final int CHUNK_SIZE = Integer.getInteger("socialpixel.import.chunkSize", 2_000);
+    private static final long PROGRESS_INTERVAL_MS = 200;
+
+    private static final String[] REQUIRED_COLUMNS = {"nic", "name", "username", "password", "industry"};
+    private static final String INSERT_CLIENT = "INSERT INTO clients (nic, nic_encrypted, name, email, phone, contact_info, industry, username, password) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REQUIREMENT = "INSERT INTO requirements (client_id, requirement, submitted_at) VALUES (?, ?, NOW())";
+
+    // Where the import is; bytes let a progress bar show how much of the file has been read
+    public record Progress(long read, long imported, long rejected, long bytesRead, long totalBytes) {}
+
+    // errorReport is null when no row was rejected
+    public record Result(long read, long imported, long rejected, Path errorReport, boolean cancelled, long elapsedNanos) {
+        public double rowsPerSecond() {
+            return read / Math.max(elapsedNanos / 1e9, 1e-3);
+        }
+    }
+
+    private record Row(int line, List<String> fields, String nic, String name, String email, String phone,
+                       String username, String password, String industry, String requirement) {}
+
+    private final Path file;
+    private final Path errorReportFile;
+    private final MessageDigest sha256 = sha256();
+    private volatile boolean cancelled;
+
+    private List<String> header;
+    private Writer errorReport; // Opened on the first rejected row
+    private long read;
+    private long imported;
+    private long rejected;
+
+    public ClientImport(Path file) {
+        this.file = file;
+        this.errorReportFile = file.resolveSibling(file.getFileName() + ".errors.csv");
+    }
+
+    // Stop after the chunk being written; safe to call from any thread
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Run the whole import on 'conn' (blocking); 'progress' is called every so often from this thread.
+    // Fails with an IOException if the file cannot be read or lacks a required column.
+    public Result run(Connection conn, Consumer<Progress> progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long totalBytes = Files.size(file);
+        Files.deleteIfExists(errorReportFile); // Left over from an earlier run of the same file
+        boolean autoCommit = conn.getAutoCommit();
+        try (CountingInputStream bytes = new CountingInputStream(Files.newInputStream(file));
+             Reader reader = new InputStreamReader(bytes, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            header = csv.next();
+            if (header == null) throw new IOException(file.getFileName() + " is empty");
+            if (header.get(0).startsWith("\uFEFF")) header.set(0, header.get(0).substring(1)); // Byte order mark
+            Map<String, Integer> columns = columns(header);
+
+            Set<String> nics = new HashSet<>();
+            Set<String> usernames = new HashSet<>();
+            loadTakenKeys(conn, nics, usernames);
+
+            conn.setAutoCommit(false);
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lastProgress = 0;
+            List<String> fields;
+            while (!cancelled && (fields = csv.next()) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) continue; // Blank line
+                read++;
+                Row row = row(csv.recordLine(), fields, columns);
+                String problem = ClientRules.check(row.nic(), row.name(), row.email(), row.username(), row.password(), row.industry());
+                // NICs and usernames compare case-insensitively, like the database's default collation
+                if (problem == null && !nics.add(row.nic().toUpperCase(Locale.ROOT))) problem = "NIC already exists!";
+                if (problem == null && !usernames.add(row.username().toLowerCase(Locale.ROOT))) problem = "Username already exists!";
+                if (problem != null) {
+                    reject(row, problem);
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        write(conn, chunk);
+                        chunk.clear();
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastProgress >= PROGRESS_INTERVAL_MS) {
+                    lastProgress = now;
+                    progress.accept(new Progress(read, imported, rejected, bytes.count, totalBytes));
+                }
+            }
+            if (!chunk.isEmpty()) write(conn, chunk);
+            progress.accept(new Progress(read, imported, rejected, bytes.count, totalBytes));
+        } finally {
+            // Nothing is pending unless a write failed part-way; restoring auto-commit would commit that
+            if (!conn.getAutoCommit()) conn.rollback();
+            conn.setAutoCommit(autoCommit);
+            if (errorReport != null) errorReport.close();
+        }
+        return new Result(read, imported, rejected, errorReport != null ? errorReportFile : null, cancelled, System.nanoTime() - start);
+    }
+
+    // Header name (lower case) -> column index; every required column must be present
+    private static Map<String, Integer> columns(List<String> header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) missing.add(required);
+        }
+        if (!missing.isEmpty()) throw new IOException("Missing column(s): " + String.join(", ", missing));
+        return columns;
+    }
+
+    private static Row row(int line, List<String> fields, Map<String, Integer> columns) {
+        return new Row(line, fields, field(fields, columns, "nic"), field(fields, columns, "name"),
+                field(fields, columns, "email"), field(fields, columns, "phone"), field(fields, columns, "username"),
+                field(fields, columns, "password"), field(fields, columns, "industry"), field(fields, columns, "requirement"));
+    }
+
+    // Trimmed value, "" if the column is absent or the row is short. Passwords are trimmed too: unlike
+    // in a password field, spaces around a CSV cell are almost always accidental.
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+    }
+
+    private static void loadTakenKeys(Connection conn, Set<String> nics, Set<String> usernames) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT nic, username FROM clients");
+             ResultSet rs = untimed(stmt).executeQuery()) {
+            while (rs.next()) {
+                if (rs.getString(1) != null) nics.add(rs.getString(1).toUpperCase(Locale.ROOT));
+                if (rs.getString(2) != null) usernames.add(rs.getString(2).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    // Insert and commit a chunk. If the database refuses it (e.g. a client registered with the same NIC
+    // since the keys were loaded), roll back and retry the rows one at a time so only the bad ones are rejected.
+    private void write(Connection conn, List<Row> chunk) throws SQLException, IOException {
+        try {
+            insert(conn, chunk);
+            conn.commit();
+            imported += chunk.size();
+        } catch (SQLException e) {
+            conn.rollback();
+            if (!isRowProblem(e)) throw e;
+            if (chunk.size() == 1) {
+                reject(chunk.get(0), e.getMessage());
+            } else {
+                for (Row row : chunk) write(conn, List.of(row));
+            }
+        }
+    }
+
+    private void insert(Connection conn, List<Row> chunk) throws SQLException {
+        boolean requirements = false;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_CLIENT, Statement.RETURN_GENERATED_KEYS)) {
+            for (Row row : chunk) {
+                String email = row.email().isEmpty() ? null : row.email();
+                String phone = row.phone().isEmpty() ? null : row.phone();
+                stmt.setString(1, row.nic());
+                stmt.setString(2, HexFormat.of().formatHex(sha256.digest(row.nic().getBytes(StandardCharsets.UTF_8)))); // = SHA2(nic, 256)
+                stmt.setString(3, row.name());
+                stmt.setString(4, email);
+                stmt.setString(5, phone);
+                stmt.setString(6, phone); // Storing phone as contact_info, as registration does
+                stmt.setString(7, row.industry());
+                stmt.setString(8, row.username());
+                stmt.setString(9, row.password());
+                stmt.addBatch();
+                requirements |= !row.requirement().isEmpty();
+            }
+            untimed(stmt).executeBatch();
+            if (!requirements) return;
+            try (ResultSet keys = stmt.getGeneratedKeys();
+                 PreparedStatement reqStmt = conn.prepareStatement(INSERT_REQUIREMENT)) {
+                for (Row row : chunk) {
+                    if (!keys.next()) throw new SQLException("No generated client_id for line " + row.line());
+                    if (row.requirement().isEmpty()) continue;
+                    reqStmt.setInt(1, keys.getInt(1));
+                    reqStmt.setString(2, row.requirement());
+                    reqStmt.addBatch();
+                }
+                untimed(reqStmt).executeBatch();
+            }
+        }
+    }
+
+    // The pool gives every statement socialpixel.query.timeoutSec, which is sized for one screen's query; a
+    // chunk's batch (or the key scan of a large table) can legitimately take longer, and a timeout is not a
+    // row problem, so it would end the import. The import is cancelled between chunks instead.
+    private static PreparedStatement untimed(PreparedStatement stmt) throws SQLException {
+        stmt.setQueryTimeout(0);
+        return stmt;
+    }
+
+    // Constraint violations and bad values (SQLState classes 22 and 23) are the row's fault; anything
+    // else (lost connection, timeout) would fail every row the same way, so it ends the import
+    private static boolean isRowProblem(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    private void reject(Row row, String reason) throws IOException {
+        rejected++;
+        if (errorReport == null) {
+            errorReport = Files.newBufferedWriter(errorReportFile, StandardCharsets.UTF_8);
+            List<String> columns = new ArrayList<>(List.of("line", "reason"));
+            columns.addAll(header);
+            writeRecord(columns);
+        }
+        List<String> record = new ArrayList<>(List.of(String.valueOf(row.line()), reason));
+        record.addAll(row.fields());
+        writeRecord(record);
+    }
+
+    private void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) errorReport.write(',');
+            String field = fields.get(i);
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                field = '"' + field.replace("\"", "\"\"") + '"';
+            }
+            errorReport.write(field);
+        }
+        errorReport.write(System.lineSeparator());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // RFC 4180 records: fields separated by commas, quoted fields may hold commas, line breaks and doubled quotes
+    static final class CsvReader {
+        private final Reader in;
+        private final char[] buffer = new char[64 * 1024];
+        private int position;
+        private int limit;
+        private int line = 1;
+        private int recordLine;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        // Line the last record returned by next() started on
+        int recordLine() {
+            return recordLine;
+        }
+
+        // Fields of the next record, null at the end of the input
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) return null;
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r' && peek() == '\n') read();
+                    if (c != -1) line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            return fill() ? buffer[position++] : -1;
+        }
+
+        private int peek() throws IOException {
+            return fill() ? buffer[position] : -1;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) return true;
+            int n = in.read(buffer, 0, buffer.length);
+            position = 0;
+            limit = Math.max(n, 0);
+            return n > 0;
+        }
+    }
+
+    // Counts the bytes read so far, for progress
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
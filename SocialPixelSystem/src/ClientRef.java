@@ -0,0 +1,8 @@
+// A client as picked in the dialogs: the id that is written to the database and the name that is shown.
+// toString() returns the name, so a ClientRef renders as-is in a JComboBox or a table cell.
+public record ClientRef(int id, String name) {
+    @Override
+    public String toString() {
+        return name;
+    }
+}
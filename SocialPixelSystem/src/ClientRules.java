@@ -0,0 +1,20 @@
+import java.util.regex.Pattern;
+
+// What a client account needs before it can be saved; shared by RegistrationWindow and ClientImport
+public final class ClientRules {
+    private static final Pattern EMAIL = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+
+    private ClientRules() {
+    }
+
+    // The first problem with these (trimmed) values, or null if they are acceptable. Email is optional.
+    public static String check(String nic, String name, String email, String username, String password, String industry) {
+        if (nic.isEmpty() || name.isEmpty() || username.isEmpty() || password.isEmpty() || industry.isEmpty()) {
+            return "NIC, Name, Username, Password, and Industry are required!";
+        }
+        if (!email.isEmpty() && !EMAIL.matcher(email).matches()) {
+            return "Invalid email format!";
+        }
+        return null;
+    }
+}
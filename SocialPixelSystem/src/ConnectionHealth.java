@@ -0,0 +1,135 @@
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Circuit breaker in front of the pool's physical connects.
+// After FAILURE_THRESHOLD consecutive failures to open a connection the circuit opens: getConnection()
+// then fails in microseconds instead of waiting out the driver's connect timeout on every call. While
+// open, a background probe retries the database with exponential backoff and closes the circuit on its
+// first success. Listeners (the status bars) hear every change of state on the EDT.
+public class ConnectionHealth {
+    private static final int FAILURE_THRESHOLD = Integer.getInteger("socialpixel.health.failureThreshold", 3);
+    private static final long PROBE_INITIAL_MS = Long.getLong("socialpixel.health.probeInitialMs", 1_000);
+    private static final long PROBE_MAX_MS = Long.getLong("socialpixel.health.probeMaxMs", 30_000);
+
+    // UP: connecting works. DEGRADED: recent failures, still trying. OFFLINE: circuit open, failing fast.
+    public enum State { UP, DEGRADED, OFFLINE }
+
+    // Health at a point in time; nextProbeAt is 0 unless OFFLINE
+    public record Status(State state, int consecutiveFailures, String lastError, long since, long nextProbeAt) {}
+
+    // Opens a connection and closes it again; throws if the database is unreachable
+    @FunctionalInterface
+    public interface Probe {
+        void run() throws SQLException;
+    }
+
+    private final Probe probe;
+    private final List<Consumer<Status>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "connection-health-probe");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // All guarded by 'this'
+    private State state = State.UP;
+    private int failures;
+    private String lastError;
+    private long since = System.currentTimeMillis();
+    private long backoffMs = PROBE_INITIAL_MS;
+    private long nextProbeAt;
+
+    public ConnectionHealth(Probe probe) {
+        this.probe = probe;
+    }
+
+    // Fail fast while the circuit is open
+    public void checkAvailable() throws SQLException {
+        Status status = getStatus();
+        if (status.state() == State.OFFLINE) {
+            throw new SQLNonTransientConnectionException("Database is offline (" + status.lastError() + "); retrying in the background", "08001");
+        }
+    }
+
+    public void recordSuccess() {
+        Status changed;
+        synchronized (this) {
+            failures = 0;
+            backoffMs = PROBE_INITIAL_MS;
+            nextProbeAt = 0;
+            changed = moveTo(State.UP);
+        }
+        publish(changed);
+    }
+
+    public void recordFailure(SQLException error) {
+        Status changed;
+        synchronized (this) {
+            failures++;
+            lastError = error.getMessage();
+            if (state == State.OFFLINE) return; // The probe owns recovery
+            changed = moveTo(failures >= FAILURE_THRESHOLD ? State.OFFLINE : State.DEGRADED);
+            if (state == State.OFFLINE) scheduleProbe();
+        }
+        publish(changed);
+    }
+
+    public synchronized Status getStatus() {
+        return new Status(state, failures, lastError, since, nextProbeAt);
+    }
+
+    // Listener is called on the EDT after every change of state
+    public void addListener(Consumer<Status> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Status> listener) {
+        listeners.remove(listener);
+    }
+
+    public void shutdown() {
+        prober.shutdownNow();
+    }
+
+    // Guarded by 'this'
+    private void scheduleProbe() {
+        nextProbeAt = System.currentTimeMillis() + backoffMs;
+        prober.schedule(this::probe, backoffMs, TimeUnit.MILLISECONDS);
+        backoffMs = Math.min(backoffMs * 2, PROBE_MAX_MS);
+    }
+
+    private void probe() {
+        try {
+            probe.run();
+            recordSuccess();
+        } catch (SQLException e) {
+            Status retry;
+            synchronized (this) {
+                failures++;
+                lastError = e.getMessage();
+                scheduleProbe();
+                retry = getStatus();
+            }
+            publish(retry); // Same state, new retry time
+        }
+    }
+
+    // Guarded by 'this'; the new status if the state changed, otherwise null
+    private Status moveTo(State next) {
+        if (state == next) return null;
+        state = next;
+        since = System.currentTimeMillis();
+        return getStatus();
+    }
+
+    private void publish(Status status) {
+        if (status == null) return;
+        DataAccess.EDT.execute(() -> listeners.forEach(listener -> listener.accept(status)));
+    }
+}
@@ -0,0 +1,485 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded JDBC connection pool shared by DBConnection and DatabaseConnection.
+// Callers keep using try-with-resources: closing a borrowed connection hands it back to the pool.
+public class ConnectionPool {
+    // Pool settings (override with -Dsocialpixel.pool.<name>=value)
+    private static final int MAX_SIZE = Integer.getInteger("socialpixel.pool.maxSize", 10);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("socialpixel.pool.acquireTimeoutMs", 5_000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("socialpixel.pool.idleTimeoutMs", 300_000);
+    private static final long MAX_LIFETIME_MS = Long.getLong("socialpixel.pool.maxLifetimeMs", 1_800_000);
+    private static final long VALIDATION_INTERVAL_MS = Long.getLong("socialpixel.pool.validationIntervalMs", 500);
+    private static final int VALIDATION_TIMEOUT_SEC = 2;
+    // Upper bound on any one statement run through the pool (0 = none)
+    private static final int QUERY_TIMEOUT_SEC = Integer.getInteger("socialpixel.query.timeoutSec", 30);
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+    // Bound on opening one physical connection, so an unreachable server fails in seconds rather than minutes
+    private static final int CONNECT_TIMEOUT_MS = Integer.getInteger("socialpixel.db.connectTimeoutMs", 5_000);
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final Semaphore permits = new Semaphore(MAX_SIZE, true);  // One permit per connection slot
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();   // Most recently used first; guarded by 'this'
+
+    // Metrics
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireNanosTotal = new AtomicLong();
+    private final AtomicLong acquireNanosMax = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+    private final ConnectionHealth health = new ConnectionHealth(this::probe);
+
+    public ConnectionPool(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictIdle, HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Borrow a connection, waiting up to the acquisition timeout for a free slot
+    public Connection getConnection() throws SQLException {
+        Trace.Span span = Trace.span("connection acquire", "db");
+        try {
+            return acquire();
+        } finally {
+            span.close();
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        EdtWatchdog.checkConnectionAcquire(); // Counts (or in strict mode rejects) borrows that block the UI
+        health.checkAvailable(); // Fail fast while the database is known to be down
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + ACQUIRE_TIMEOUT_MS + " ms waiting for a pooled connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = takeUsable();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        active.incrementAndGet();
+        long waited = System.nanoTime() - start;
+        recordAcquire(waited);
+        return pooled.lease(waited);
+    }
+
+    // Reuse an idle connection if one passes validation, otherwise open a new one
+    private PooledConnection takeUsable() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = pollIdle()) != null) {
+            long now = System.currentTimeMillis();
+            if (pooled.isExpired(now)) {
+                evict(pooled);
+            } else if (now - pooled.lastUsed > VALIDATION_INTERVAL_MS && !pooled.isValid()) {
+                // Connections used within the validation interval skip the round-trip
+                evict(pooled);
+            } else {
+                health.recordSuccess(); // A working connection clears DEGRADED and the failure count, not only a new one
+                return pooled;
+            }
+        }
+        Connection physical = connect();
+        createdCount.incrementAndGet();
+        physicalCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    // Open a physical connection, reporting the outcome to the circuit breaker
+    private Connection connect() throws SQLException {
+        Connection physical;
+        try {
+            physical = DriverManager.getConnection(url, connectProperties());
+        } catch (SQLException e) {
+            health.recordFailure(e);
+            throw e;
+        }
+        health.recordSuccess();
+        return physical;
+    }
+
+    // Background check run by the circuit breaker while the database is offline
+    private void probe() throws SQLException {
+        try (Connection physical = DriverManager.getConnection(url, connectProperties())) {
+            if (!physical.isValid(VALIDATION_TIMEOUT_SEC)) throw new SQLException("Connection is not valid");
+        }
+    }
+
+    private Properties connectProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        if (url.startsWith("jdbc:mysql:")) {
+            props.setProperty("connectTimeout", String.valueOf(CONNECT_TIMEOUT_MS));
+            // Send executeBatch() inserts as multi-row INSERTs instead of one round-trip per row (ClientImport)
+            props.setProperty("rewriteBatchedStatements", "true");
+        }
+        return props;
+    }
+
+    private synchronized PooledConnection pollIdle() {
+        return idle.pollFirst();
+    }
+
+    // Called when a lease is closed
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            if (pooled.isExpired(System.currentTimeMillis()) || !pooled.reset()) {
+                evict(pooled);
+            } else {
+                pooled.lastUsed = System.currentTimeMillis();
+                synchronized (this) {
+                    idle.addFirst(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evict(PooledConnection pooled) {
+        evictedCount.incrementAndGet();
+        physicalCount.decrementAndGet();
+        pooled.closePhysical();
+    }
+
+    // Close connections that sat idle too long or outlived their max lifetime
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Deque<PooledConnection> stale = new ArrayDeque<>();
+        synchronized (this) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsed > IDLE_TIMEOUT_MS || pooled.isExpired(now)) {
+                    it.remove();
+                    stale.add(pooled);
+                }
+            }
+        }
+        stale.forEach(this::evict);
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireCount.incrementAndGet();
+        acquireNanosTotal.addAndGet(nanos);
+        acquireNanosMax.accumulateAndGet(nanos, Math::max);
+    }
+
+    // Circuit breaker for this pool's database
+    public ConnectionHealth getHealth() {
+        return health;
+    }
+
+    // Snapshot of the pool metrics
+    public Stats getStats() {
+        int idleCount;
+        synchronized (this) {
+            idleCount = idle.size();
+        }
+        long acquires = acquireCount.get();
+        double avgMicros = acquires == 0 ? 0 : acquireNanosTotal.get() / 1_000.0 / acquires;
+        return new Stats(active.get(), idleCount, waiters.get(), physicalCount.get(), MAX_SIZE,
+                acquires, timeoutCount.get(), createdCount.get(), evictedCount.get(),
+                avgMicros, acquireNanosMax.get() / 1_000.0);
+    }
+
+    // Close every idle connection and stop housekeeping
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        health.shutdown();
+        Deque<PooledConnection> drained;
+        synchronized (this) {
+            drained = new ArrayDeque<>(idle);
+            idle.clear();
+        }
+        drained.forEach(this::evict);
+    }
+
+    // Pool metrics at a point in time
+    public record Stats(int active, int idle, int waiters, int total, int maxSize,
+                        long acquires, long timeouts, long created, long evicted,
+                        double avgAcquireMicros, double maxAcquireMicros) {
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d waiters=%d total=%d/%d acquires=%d timeouts=%d created=%d evicted=%d avgAcquire=%.1fus maxAcquire=%.1fus",
+                    active, idle, waiters, total, maxSize, acquires, timeouts, created, evicted, avgAcquireMicros, maxAcquireMicros);
+        }
+    }
+
+    // A physical connection owned by the pool
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsed = createdAt;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(physical);
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt > MAX_LIFETIME_MS;
+        }
+
+        boolean isValid() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SEC);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Undo anything a borrower may have changed; false if the connection is unusable
+        boolean reset() {
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) physical.setReadOnly(false);
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            statementCache.clear();
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Already broken; nothing more to do
+            }
+        }
+
+        // Hand out a fresh proxy so a stale reference cannot touch the connection after close()
+        Connection lease(long waitNanos) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Lease(this, waitNanos));
+        }
+    }
+
+    // Proxy handler for one borrow of a pooled connection
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Statements opened through this lease; many callers never close them, and
+        // the physical connection now outlives the borrow, so they are closed on release
+        private final List<Statement> statements = new ArrayList<>();
+        // Tables written in the open transaction; their cached reads are dropped when it commits (or on release)
+        private final Set<String> writtenTables = new HashSet<>();
+        // Token of the view load that borrowed the connection, if any; its cancel() stops our statements
+        private final CancelToken token = CancelToken.current();
+        private final long waitNanos; // How long the borrow waited for a free slot
+
+        Lease(PooledConnection pooled, long waitNanos) {
+            this.pooled = pooled;
+            this.waitNanos = waitNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed.compareAndSet(false, true)) {
+                        if (token != null) {
+                            synchronized (statements) {
+                                token.unregister(statements);
+                            }
+                        }
+                        closeStatements();
+                        invalidateWrittenTables(); // Before another borrower can read through the cache
+                        release(pooled);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed.get() || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + pooled.physical + "]";
+                }
+                default -> {
+                    if (closed.get()) throw new SQLException("Connection is closed");
+                }
+            }
+            String writes = "prepareStatement".equals(method.getName()) && args[0] instanceof String sql
+                    ? QueryCache.tableWrittenBy(sql) : null;
+            long started = System.nanoTime();
+            Object result;
+            if (isCacheablePrepare(method, args)) {
+                int keys = args.length == 2 ? (int) args[1] : Statement.NO_GENERATED_KEYS;
+                result = pooled.statementCache.prepare((Connection) proxy, (String) args[0], keys);
+            } else {
+                try {
+                    result = method.invoke(pooled.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                // setAutoCommit(true) commits too
+                if ("commit".equals(method.getName()) || "setAutoCommit".equals(method.getName())) invalidateWrittenTables();
+            }
+            if (JdbcMetrics.ENABLED && result instanceof PreparedStatement prepared
+                    && "prepareStatement".equals(method.getName())) {
+                result = JdbcMetrics.wrap(prepared, (String) args[0], System.nanoTime() - started, waitNanos);
+            }
+            if (writes != null && result instanceof PreparedStatement prepared) {
+                result = invalidatingWrites(prepared, writes);
+            }
+            if (token != null && result instanceof Statement statement) {
+                result = cancellable(statement);
+            }
+            if (result instanceof Statement statement) {
+                synchronized (statements) {
+                    statements.add(statement);
+                }
+                if (QUERY_TIMEOUT_SEC > 0) statement.setQueryTimeout(QUERY_TIMEOUT_SEC);
+                if (token != null) token.register(statement);
+            }
+            return result;
+        }
+
+        // prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) go through the cache
+        private boolean isCacheablePrepare(Method method, Object[] args) {
+            if (!"prepareStatement".equals(method.getName())) return false;
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+
+        // Drop the table's cached reads once a write through 'target' has succeeded: right away under
+        // auto-commit, else when the transaction commits (other connections see the old rows until then)
+        private PreparedStatement invalidatingWrites(PreparedStatement target, String table) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "equals" -> {
+                                return proxy == args[0];
+                            }
+                            case "hashCode" -> {
+                                return System.identityHashCode(proxy);
+                            }
+                            default -> { }
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        if (method.getName().startsWith("execute")) {
+                            synchronized (writtenTables) {
+                                writtenTables.add(table);
+                            }
+                            if (pooled.physical.getAutoCommit()) invalidateWrittenTables();
+                        }
+                        return result;
+                    });
+        }
+
+        // Refuse to run 'target' once the token is cancelled: cancel() only stops statements already running
+        // in the server, so a load that keeps issuing queries after it would otherwise go on until it ends
+        private Statement cancellable(Statement target) {
+            Class<?> type = target instanceof CallableStatement ? CallableStatement.class
+                    : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    default -> {
+                        if (method.getName().startsWith("execute")) token.throwIfCancelled();
+                    }
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private void invalidateWrittenTables() {
+            synchronized (writtenTables) {
+                QueryCache.invalidate(writtenTables);
+                writtenTables.clear();
+            }
+        }
+
+        private void closeStatements() {
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    try {
+                        statement.close();
+                    } catch (SQLException ignored) {
+                        // The connection is reset or evicted next anyway
+                    }
+                }
+                statements.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.util.function.Consumer;
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+
+// Strip that tells the user when the database is degraded or offline; hidden while it is up.
+// Listens to the pool's ConnectionHealth only while the strip is on screen.
+public class ConnectionStatusBar extends JLabel {
+    private final ConnectionHealth health = DBConnection.getPool().getHealth();
+    private final Consumer<ConnectionHealth.Status> listener = this::show;
+    private final Timer countdown = new Timer(1_000, e -> show(health.getStatus())); // Ticks the retry countdown
+
+    public ConnectionStatusBar() {
+        setOpaque(true);
+        setHorizontalAlignment(SwingConstants.CENTER);
+        setFont(new Font("Segoe UI", Font.BOLD, 12));
+        setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        health.addListener(listener);
+        show(health.getStatus());
+    }
+
+    @Override
+    public void removeNotify() {
+        health.removeListener(listener);
+        countdown.stop();
+        super.removeNotify();
+    }
+
+    private void show(ConnectionHealth.Status status) {
+        switch (status.state()) {
+            case UP -> {
+                setVisible(false);
+                countdown.stop();
+            }
+            case DEGRADED -> {
+                setText("Database connection is unstable; retrying. " + status.lastError());
+                setBackground(new Color(255, 204, 102));
+                setVisible(true);
+                countdown.stop();
+            }
+            case OFFLINE -> {
+                long seconds = Math.max(0, (status.nextProbeAt() - System.currentTimeMillis() + 999) / 1_000);
+                setText("Database offline. Retrying in " + seconds + "s. Changes cannot be saved until it is back.");
+                setBackground(new Color(255, 102, 102));
+                setVisible(true);
+                countdown.start();
+            }
+        }
+    }
+}
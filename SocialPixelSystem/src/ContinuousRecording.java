@@ -0,0 +1,67 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.logging.Logger;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+// An always-on Flight Recorder recording kept in a rolling buffer on disk, so an incident can be
+// analysed in JMC afterwards: dump() writes the last MAX_AGE_MIN minutes to a .jfr file.
+// Uses the JDK's low-overhead "default" settings plus our own events (AppEvents), which are enabled by default.
+// Started at launch with -Dsocialpixel.jfr.continuous=true, or from the Diagnostics view.
+public class ContinuousRecording {
+    private static final boolean AT_STARTUP = Boolean.getBoolean("socialpixel.jfr.continuous");
+    private static final String SETTINGS = System.getProperty("socialpixel.jfr.settings", "default"); // Or "profile"
+    private static final long MAX_AGE_MIN = Long.getLong("socialpixel.jfr.maxAgeMin", 60);
+    private static final long MAX_SIZE_MB = Long.getLong("socialpixel.jfr.maxSizeMb", 250);
+
+    private static final Logger LOG = Logger.getLogger(ContinuousRecording.class.getName());
+
+    private static Recording recording; // Guarded by ContinuousRecording.class
+
+    private ContinuousRecording() {
+    }
+
+    // Start the recording if -Dsocialpixel.jfr.continuous=true (every window calls this)
+    public static void startIfConfigured() {
+        if (AT_STARTUP) start();
+    }
+
+    // Start recording (idempotent); returns whether a recording is running
+    public static synchronized boolean start() {
+        if (isRunning()) return true;
+        try {
+            Recording r = new Recording(Configuration.getConfiguration(SETTINGS));
+            r.setName("SocialPixel continuous");
+            r.setToDisk(true);
+            r.setMaxAge(Duration.ofMinutes(MAX_AGE_MIN));
+            r.setMaxSize(MAX_SIZE_MB * 1024 * 1024);
+            r.setDumpOnExit(false);
+            r.start();
+            recording = r;
+            LOG.info("Continuous JFR recording started (" + SETTINGS + " settings, last " + MAX_AGE_MIN + " min kept)");
+            return true;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            LOG.warning("Could not start the JFR recording: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static synchronized boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    // Write what the recording holds so far to 'file'; the recording keeps running
+    public static synchronized void dump(Path file) throws IOException {
+        if (!isRunning()) throw new IOException("No JFR recording is running");
+        recording.dump(file);
+    }
+
+    public static synchronized void stop() {
+        if (recording == null) return;
+        recording.close();
+        recording = null;
+    }
+}
@@ -1,19 +1,21 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/socialpixel_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = "2003"; // put your MySQL password if you have one
+    // Overridable with -Dsocialpixel.db.url/.user/.password (e.g. the JMH benchmarks use an embedded database)
+    static final String URL = System.getProperty("socialpixel.db.url", "jdbc:mysql://localhost:3306/socialpixel_db?useServerPrepStmts=true");
+    static final String USER = System.getProperty("socialpixel.db.user", "root");
+    static final String PASSWORD = System.getProperty("socialpixel.db.password", "2003"); // put your MySQL password if you have one
 
-    public static Connection getConnection() {
-        try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
-        } catch (SQLException e) {
-            System.out.println("Database connection failed!");
-            e.printStackTrace();
-            return null;
-        }
+    // Single pool shared by every caller of DBConnection and DatabaseConnection
+    private static final ConnectionPool POOL = new ConnectionPool(URL, USER, PASSWORD);
+
+    public static Connection getConnection() throws SQLException {
+        return POOL.getConnection();
+    }
+
+    // Access to pool metrics
+    public static ConnectionPool getPool() {
+        return POOL;
     }
 }
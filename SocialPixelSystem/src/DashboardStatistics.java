@@ -0,0 +1,156 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Figures shown on the AdminDashboard statistic cards.
+// All four are read with one aggregate query at startup; after that the add/edit/delete handlers
+// report their writes here and the totals are adjusted in memory. A full recount runs on the
+// reconciliation interval to correct any drift (e.g. writes made outside this app).
+public class DashboardStatistics {
+    private static final long RECONCILE_INTERVAL_MS = Long.getLong("socialpixel.stats.reconcileIntervalMs", 300_000);
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private static final String TOTALS_SQL = """
+            SELECT (SELECT COUNT(*) FROM clients) AS clients,
+                   (SELECT COUNT(*) FROM campaigns) AS campaigns,
+                   (SELECT COALESCE(SUM(amount), 0) FROM payments WHERE status = 'Paid') AS paid,
+                   (SELECT COALESCE(SUM(amount), 0) FROM payments WHERE status = 'Pending') AS pending
+            """;
+
+    // Values at a point in time
+    public record Snapshot(long clients, long campaigns, double paid, double pending) {}
+
+    private long clients;
+    private long campaigns;
+    private double paid;
+    private double pending;
+    private long writes; // Bumped by every in-memory update, so a recount that raced one is not applied
+
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService reconciler;
+
+    // Listener is called on the EDT after every change
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    // Schedule periodic reconciliation (call reconcile() for the initial load)
+    public synchronized void start() {
+        if (reconciler != null) return;
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stats-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, RECONCILE_INTERVAL_MS, RECONCILE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+            reconciler = null;
+        }
+    }
+
+    // Recount everything from the database in one round-trip
+    public CompletableFuture<Snapshot> reconcile() {
+        CompletableFuture<Snapshot> totals = reconcile(RECONCILE_ATTEMPTS);
+        totals.whenComplete((snapshot, error) -> {
+            if (error != null) DataAccess.unwrap(error).printStackTrace();
+        });
+        return totals;
+    }
+
+    // A write reported while the recount ran may or may not be in its totals, so that recount is dropped
+    // and run again; after the last attempt the in-memory figures stand until the next reconciliation
+    private CompletableFuture<Snapshot> reconcile(int attempts) {
+        long seen;
+        synchronized (this) {
+            seen = writes;
+        }
+        return QueryCache.query(TOTALS_SQL, List.of(), DashboardStatistics::queryTotals).thenCompose(snapshot -> {
+            if (replace(snapshot, seen)) return CompletableFuture.completedFuture(snapshot);
+            return attempts > 1 ? reconcile(attempts - 1) : CompletableFuture.completedFuture(snapshot());
+        });
+    }
+
+    static Snapshot queryTotals(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(TOTALS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return new Snapshot(rs.getLong("clients"), rs.getLong("campaigns"), rs.getDouble("paid"), rs.getDouble("pending"));
+        }
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(clients, campaigns, paid, pending);
+    }
+
+    // ===== Write events from the dialogs and table editors =====
+
+    public void clientAdded() {
+        update(() -> clients++);
+    }
+
+    public void clientDeleted() {
+        update(() -> clients = Math.max(0, clients - 1));
+    }
+
+    public void campaignAdded() {
+        update(() -> campaigns++);
+    }
+
+    public void campaignDeleted() {
+        update(() -> campaigns = Math.max(0, campaigns - 1));
+    }
+
+    public void paymentAdded(double amount, String status) {
+        update(() -> addPayment(amount, status, 1));
+    }
+
+    public void paymentDeleted(double amount, String status) {
+        update(() -> addPayment(amount, status, -1));
+    }
+
+    public void paymentChanged(double oldAmount, String oldStatus, double newAmount, String newStatus) {
+        update(() -> {
+            addPayment(oldAmount, oldStatus, -1);
+            addPayment(newAmount, newStatus, 1);
+        });
+    }
+
+    // Only Paid and Pending payments are totalled
+    private void addPayment(double amount, String status, int sign) {
+        if ("Paid".equals(status)) paid += sign * amount;
+        else if ("Pending".equals(status)) pending += sign * amount;
+    }
+
+    private synchronized boolean replace(Snapshot snapshot, long seen) {
+        if (writes != seen) return false;
+        clients = snapshot.clients();
+        campaigns = snapshot.campaigns();
+        paid = snapshot.paid();
+        pending = snapshot.pending();
+        publish();
+        return true;
+    }
+
+    private synchronized void update(Runnable change) {
+        writes++;
+        change.run();
+        publish();
+    }
+
+    private void publish() {
+        Snapshot snapshot = snapshot();
+        DataAccess.EDT.execute(() -> listeners.forEach(listener -> listener.accept(snapshot)));
+    }
+}
@@ -0,0 +1,144 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+// Runs JDBC work off the Event Dispatch Thread on virtual threads and hands results back to Swing.
+//
+//   DataAccess.query(conn -> ...rows...)
+//             .whenComplete(DataAccess.onEdt(rows -> fillTable(rows), err -> showError(err)));
+public class DataAccess {
+    // One virtual thread per task; blocking JDBC calls park cheaply instead of tying up a platform thread
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Executor that runs callbacks on the EDT
+    public static final Executor EDT = command -> {
+        if (SwingUtilities.isEventDispatchThread()) {
+            command.run();
+        } else {
+            SwingUtilities.invokeLater(command);
+        }
+    };
+
+    // Work to run against a borrowed connection
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // Work that does not need a connection handed in (or manages its own)
+    @FunctionalInterface
+    public interface SqlTask<T> {
+        T call() throws SQLException;
+    }
+
+    // Borrow a pooled connection on a background thread, run the work, return the connection.
+    // The work runs under the caller's CancelToken, if any; once that is cancelled the future fails
+    // with a CancellationException (see isCancelled()) instead of the driver's "query interrupted" error.
+    public static <T> CompletableFuture<T> query(SqlWork<T> work) {
+        CancelToken token = CancelToken.current();
+        if (token == null) return supply(() -> run(work, null));
+        return supply(() -> {
+            token.enter();
+            try {
+                return CancelToken.within(token, () -> {
+                    try {
+                        return run(work, token);
+                    } catch (SQLException e) {
+                        token.throwIfCancelled();
+                        throw new CompletionException(e);
+                    }
+                });
+            } finally {
+                token.exit();
+            }
+        });
+    }
+
+    private static <T> T run(SqlWork<T> work, CancelToken token) throws SQLException {
+        Trace.Span span = Trace.span("db work", "db");
+        AppEvents.DatabaseWork event = new AppEvents.DatabaseWork();
+        event.begin();
+        boolean failed = true;
+        long start = System.nanoTime();
+        try (Connection conn = DBConnection.getConnection()) {
+            event.connectionWait = System.nanoTime() - start;
+            if (token != null) token.throwIfCancelled(); // Cancelled while waiting for the pool
+            T result = work.run(conn);
+            failed = false;
+            return result;
+        } finally {
+            span.close();
+            if (event.shouldCommit()) {
+                event.failed = failed;
+                event.window = AppEvents.window();
+                event.commit();
+            }
+        }
+    }
+
+    // Run a task on a background thread (as part of the caller's trace and window, if any)
+    public static <T> CompletableFuture<T> supply(SqlTask<T> task) {
+        Trace.Context trace = Trace.current();
+        Class<?> window = AppEvents.window();
+        return CompletableFuture.supplyAsync(() -> AppEvents.within(window, () -> Trace.within(trace, () -> {
+            try {
+                return task.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        })), EXECUTOR);
+    }
+
+    // Completion callback that delivers the result or the unwrapped error on the EDT
+    public static <T> BiConsumer<T, Throwable> onEdt(Consumer<? super T> onSuccess, Consumer<? super Throwable> onError) {
+        Trace.Context trace = Trace.current();
+        return (result, error) -> EDT.execute(() -> Trace.within(trace, () -> {
+            Trace.Span span = Trace.span("update view", "ui");
+            try {
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    onError.accept(unwrap(error));
+                }
+            } finally {
+                span.close();
+            }
+        }));
+    }
+
+    // Whether a load failed only because its view was navigated away from
+    public static boolean isCancelled(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
+    }
+
+    // Strip the CompletionException wrapper added by CompletableFuture
+    public static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // Tracks the most recent load of a view so an older, slower load cannot overwrite a newer one
+    public static final class Latest {
+        private final AtomicInteger generation = new AtomicInteger();
+
+        // Start a new load and return its ticket
+        public int next() {
+            return generation.incrementAndGet();
+        }
+
+        public boolean isCurrent(int ticket) {
+            return generation.get() == ticket;
+        }
+    }
+}
@@ -1,19 +1,9 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
+// Kept for the client-side screens; borrows from the same pool as DBConnection
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/socialpixel_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = "2003"; // put your MySQL password if you have one
-
-    public static Connection getConnection() {
-        try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
-        } catch (SQLException e) {
-            System.out.println("Database connection failed!");
-            e.printStackTrace();
-            return null;
-        }
+    public static Connection getConnection() throws SQLException {
+        return DBConnection.getConnection();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.HierarchyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+
+// Hidden AdminDashboard card (Ctrl+Shift+D) with live performance figures: pool usage and health, the
+// slowest queries, cache hit rates, EDT stalls, heap use and per-view load times.
+// Everything comes from in-memory counters; refreshing this view never queries the database.
+public class DiagnosticsPanel extends JPanel {
+    private static final int REFRESH_MS = Integer.getInteger("socialpixel.diagnostics.refreshMs", 1_000);
+    private static final int SLOWEST_QUERIES = 10;
+    private static final int RECENT_STALLS = 5;
+
+    private final AdminDashboard dashboard;
+    private final JTextArea report = new JTextArea();
+    private final Timer timer = new Timer(REFRESH_MS, e -> tick());
+
+    public DiagnosticsPanel(AdminDashboard dashboard) {
+        this.dashboard = dashboard;
+        setLayout(new BorderLayout());
+
+        JLabel heading = new JLabel("Diagnostics (Ctrl+Shift+D) - live figures, no database queries");
+        heading.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        heading.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        add(heading, BorderLayout.NORTH);
+
+        report.setEditable(false);
+        report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        add(new JScrollPane(report), BorderLayout.CENTER);
+
+        JButton reset = new JButton("Reset counters");
+        reset.addActionListener(e -> resetCounters());
+        JButton exportStalls = new JButton("Export EDT stalls...");
+        exportStalls.addActionListener(e -> exportStalls());
+        JButton recording = new JButton(ContinuousRecording.isRunning() ? "Dump JFR recording..." : "Start JFR recording");
+        recording.addActionListener(e -> {
+            if (ContinuousRecording.isRunning()) {
+                dumpRecording();
+            } else if (ContinuousRecording.start()) {
+                recording.setText("Dump JFR recording...");
+            } else {
+                JOptionPane.showMessageDialog(this, "Could not start the JFR recording (see the log).", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        JButton copy = new JButton("Copy report");
+        copy.addActionListener(e -> Toolkit.getDefaultToolkit().getSystemClipboard()
+                .setContents(new StringSelection(report.getText()), null));
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(reset);
+        buttons.add(exportStalls);
+        buttons.add(recording);
+        buttons.add(copy);
+        add(buttons, BorderLayout.SOUTH);
+
+        // Only tick while the card is on screen
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (isShowing()) {
+                report.setText(buildReport());
+                timer.start();
+            } else {
+                timer.stop();
+            }
+        });
+    }
+
+    private void tick() {
+        int caret = report.getCaretPosition();
+        report.setText(buildReport());
+        report.setCaretPosition(Math.min(caret, report.getDocument().getLength())); // Keep the scroll position
+    }
+
+    // The whole report as text (also what "Copy report" puts on the clipboard)
+    public String buildReport() {
+        StringBuilder out = new StringBuilder();
+
+        ConnectionPool pool = DBConnection.getPool();
+        ConnectionHealth.Status health = pool.getHealth().getStatus();
+        out.append("== Connection pool ==\n")
+                .append(pool.getStats()).append('\n')
+                .append("health=").append(health.state())
+                .append(" consecutiveFailures=").append(health.consecutiveFailures());
+        if (health.lastError() != null) out.append(" lastError=").append(health.lastError());
+        out.append("\n\n");
+
+        out.append("== Slowest queries (by execute p95) ==\n");
+        List<JdbcMetrics.Snapshot> queries = JdbcMetrics.snapshot();
+        queries.sort(Comparator.comparingDouble((JdbcMetrics.Snapshot s) -> s.execute().p95Ms()).reversed());
+        if (queries.isEmpty()) out.append("(no queries recorded").append(JdbcMetrics.ENABLED ? ")" : "; metrics disabled)").append('\n');
+        for (JdbcMetrics.Snapshot q : queries.subList(0, Math.min(SLOWEST_QUERIES, queries.size()))) {
+            out.append(String.format("p50=%7.1fms p95=%7.1fms p99=%7.1fms calls=%-6d rows=%-8d errors=%-3d %s%n",
+                    q.execute().p50Ms(), q.execute().p95Ms(), q.execute().p99Ms(), q.calls(), q.rows(), q.errors(),
+                    abbreviate(q.fingerprint())));
+        }
+        out.append('\n');
+
+        out.append("== Caches ==\n")
+                .append("query cache      ").append(QueryCache.getStats()).append(QueryCache.isEnabled() ? "" : " (disabled)").append('\n')
+                .append("client cache     ").append(ClientCache.getStats()).append('\n')
+                .append("statement cache  ").append(StatementCache.getStats()).append('\n')
+                .append("refresh requests ").append(dashboard.getRefreshes().getStats()).append("\n\n");
+
+        List<EdtWatchdog.StallReport> stalls = EdtWatchdog.getReports();
+        out.append("== EDT ==\n")
+                .append("stalls ").append(EdtWatchdog.getStallSummary())
+                .append(" connectionsBorrowedOnEdt=").append(EdtWatchdog.getEdtAcquires())
+                .append(EdtWatchdog.STRICT ? " (strict)" : "").append('\n')
+                .append("JFR recording ").append(ContinuousRecording.isRunning() ? "running" : "off").append('\n');
+        if (stalls.isEmpty()) out.append("(no stalls recorded)\n");
+        for (EdtWatchdog.StallReport stall : stalls.subList(0, Math.min(RECENT_STALLS, stalls.size()))) {
+            out.append(String.format("%tT  %d ms%s  at %s%n", stall.startedAt(), stall.durationMs(),
+                    stall.inJdbc() ? " in JDBC" : "", firstAppFrame(stall.stack())));
+        }
+        out.append('\n');
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        out.append("== Heap ==\n")
+                .append(String.format("used=%d MB committed=%d MB max=%d MB%n%n",
+                        heap.getUsed() >> 20, heap.getCommitted() >> 20, heap.getMax() >> 20));
+
+        out.append("== View load times ==\n");
+        List<LoadTimes.Snapshot> views = LoadTimes.snapshot();
+        if (views.isEmpty()) out.append("(no loads recorded)\n");
+        for (LoadTimes.Snapshot v : views) {
+            out.append(String.format("%-22s last=%8.1fms failures=%-3d %s%n", v.view(), v.lastMs(), v.failures(), v.loads()));
+        }
+        return out.toString();
+    }
+
+    private void resetCounters() {
+        JdbcMetrics.reset();
+        QueryCache.resetStats();
+        ClientCache.resetStats();
+        StatementCache.resetStats();
+        LoadTimes.reset();
+        EdtWatchdog.clear();
+        report.setText(buildReport());
+    }
+
+    private void exportStalls() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("edt-stalls.txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            EdtWatchdog.export(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not export: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void dumpRecording() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("socialpixel.jfr"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            ContinuousRecording.dump(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not dump the recording: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // Topmost frame of our own code (default package), else the top frame
+    private static String firstAppFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().indexOf('.') < 0) return frame.toString();
+        }
+        return stack.length > 0 ? stack[0].toString() : "?";
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 100 ? sql : sql.substring(0, 97) + "...";
+    }
+}
@@ -0,0 +1,17 @@
+// Changes to the admin data, published on the EventBus by the dialogs and table editors once a write
+// has succeeded, and applied by the views that show the affected rows.
+public sealed interface DomainEvent {
+    enum Change { ADDED, UPDATED, DELETED }
+
+    // Which list a reply was written to
+    enum ReplyTarget { FEEDBACK, CHANGE_REQUEST, REQUIREMENT }
+
+    // 'row' is the table row as the owning view lays it out (null for DELETED)
+    record ClientChanged(Change change, int clientId, Object[] row) implements DomainEvent {}
+
+    record CampaignChanged(Change change, int campaignId, Object[] row) implements DomainEvent {}
+
+    record PaymentChanged(Change change, int paymentId, Object[] row) implements DomainEvent {}
+
+    record ReplySaved(ReplyTarget target, int id, String reply) implements DomainEvent {}
+}
@@ -1,5 +1,5 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.*;
 import java.text.ParseException;
@@ -8,7 +8,7 @@ import java.util.Date;
 
 // Dialog for editing an existing campaign
 public class EditCampaignDialog extends JDialog {
-    private JComboBox<String> clientCombo;           // Dropdown for selecting client name
+    private JComboBox<ClientRef> clientCombo;        // Dropdown for selecting the client
     private JTextField nameField;                    // Field for campaign name
     private JFormattedTextField startDateField;      // Field for campaign start date
     private JFormattedTextField endDateField;        // Field for campaign end date
@@ -17,7 +17,7 @@ public class EditCampaignDialog extends JDialog {
     private AdminDashboard adminDashboard;           // Reference to the main dashboard
 
     // Constructor - initializes the form with values from selected row in table
-    public EditCampaignDialog(AdminDashboard parent, DefaultTableModel tableModel, int rowIndex) {
+    public EditCampaignDialog(AdminDashboard parent, TableModel tableModel, int rowIndex) {
         super(parent, "Edit Campaign", true);
         this.adminDashboard = parent;
         this.campaignId = (int) tableModel.getValueAt(rowIndex, 0); // Get campaign ID from table
@@ -48,7 +48,7 @@ public class EditCampaignDialog extends JDialog {
         panel.add(new JLabel("Client:"), gbc);
         gbc.gridx = 1;
         clientCombo = new JComboBox<>();
-        loadClients(tableModel.getValueAt(rowIndex, 2).toString()); // Load and select current client
+        ClientDirectory.populate(clientCombo, tableModel.getValueAt(rowIndex, 2)); // Load and select current client
         panel.add(clientCombo, gbc);
 
         // Start date
@@ -93,54 +93,62 @@ public class EditCampaignDialog extends JDialog {
         setContentPane(panel);
 
         // ======= Save Button Action =======
-        saveBtn.addActionListener(e -> {
-            try (Connection conn = DBConnection.getConnection()) {
-                // Get selected client's ID from DB
-                String clientName = (String) clientCombo.getSelectedItem();
-                PreparedStatement clientStmt = conn.prepareStatement("SELECT client_id FROM clients WHERE name = ?");
-                clientStmt.setString(1, clientName);
-                ResultSet clientRs = clientStmt.executeQuery();
-                int clientId = clientRs.next() ? clientRs.getInt("client_id") : -1;
-
+        saveBtn.addActionListener(Trace.action("Edit campaign: save", e -> {
+            ClientRef client = (ClientRef) clientCombo.getSelectedItem();
+            if (client == null) {
+                JOptionPane.showMessageDialog(this, "Please select a client.");
+                return;
+            }
+            String name = nameField.getText();
+            java.sql.Date start = new java.sql.Date(((Date) startDateField.getValue()).getTime());
+            java.sql.Date end = new java.sql.Date(((Date) endDateField.getValue()).getTime());
+            String status = (String) statusCombo.getSelectedItem();
+
+            // Update in the background; the buttons stay disabled until it finishes
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 // Prepare update SQL
                 String sql = "UPDATE campaigns SET name=?, client_id=?, start_date=?, end_date=?, status=? WHERE campaign_id=?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-
-                stmt.setString(1, nameField.getText());
-                stmt.setInt(2, clientId);
-                stmt.setDate(3, new java.sql.Date(((Date) startDateField.getValue()).getTime()));
-                stmt.setDate(4, new java.sql.Date(((Date) endDateField.getValue()).getTime()));
-                stmt.setString(5, (String) statusCombo.getSelectedItem());
-                stmt.setInt(6, campaignId);
-
-                // Execute update
-                stmt.executeUpdate();
-
-                // Refresh dashboard stats and notify success
-                adminDashboard.updateStats();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, name);
+                    stmt.setInt(2, client.id());
+                    stmt.setDate(3, start);
+                    stmt.setDate(4, end);
+                    stmt.setString(5, status);
+                    stmt.setInt(6, campaignId);
+
+                    // Execute update
+                    return stmt.executeUpdate();
+                }
+            }).whenComplete(DataAccess.onEdt(updated -> {
+                if (updated == 0) {
+                    JOptionPane.showMessageDialog(this, "This campaign no longer exists.");
+                    dispose();
+                    return;
+                }
+                // Update the row on screen (campaign counts are unchanged by an edit)
+                adminDashboard.getEvents().publish(new DomainEvent.CampaignChanged(DomainEvent.Change.UPDATED, campaignId, new Object[]{
+                        campaignId,
+                        name,
+                        client,
+                        start,
+                        end,
+                        status,
+                        "Edit",
+                        "Delete"
+                }));
                 JOptionPane.showMessageDialog(this, "Campaign updated successfully!");
                 dispose(); // Close dialog
-            } catch (SQLException ex) {
+            }, error -> {
                 // Show error if any DB issue occurs
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
 
         // ======= Cancel Button Action =======
         cancelBtn.addActionListener(e -> dispose()); // Just close the dialog
     }
-
-    // Load client names from DB into combo box and select the current one
-    private void loadClients(String selectedClient) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT name FROM clients");
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                clientCombo.addItem(rs.getString("name"));
-            }
-            clientCombo.setSelectedItem(selectedClient); // Set the selected client
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-}
+}
\ No newline at end of file
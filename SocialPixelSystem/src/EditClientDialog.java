@@ -1,5 +1,5 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.*;
 
@@ -9,7 +9,7 @@ public class EditClientDialog extends JDialog {
     private int clientId; // Stores the ID of the client being edited
 
     // Constructor - initializes dialog with selected client's data
-    public EditClientDialog(JFrame parent, DefaultTableModel tableModel, int rowIndex) {
+    public EditClientDialog(JFrame parent, TableModel tableModel, int rowIndex) {
         super(parent, "Edit Client", true); // Modal dialog
         setSize(400, 300);
         setLocationRelativeTo(parent); // Center on parent
@@ -46,7 +46,7 @@ public class EditClientDialog extends JDialog {
         add(cancelBtn);
 
         // ======= Save Button Action =======
-        saveBtn.addActionListener(e -> {
+        saveBtn.addActionListener(Trace.action("Edit client: save", e -> {
             // Get values from fields
             String newName = nameField.getText();
             String newContact = contactField.getText();
@@ -59,32 +59,46 @@ public class EditClientDialog extends JDialog {
                 return;
             }
 
-            // ======= Update database =======
-            try (Connection conn = DBConnection.getConnection()) {
+            // ======= Update database (in the background; buttons disabled until it finishes) =======
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 String sql = "UPDATE clients SET name=?, contact_info=?, nic=?, industry=? WHERE client_id=?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, newName);
-                stmt.setString(2, newContact);
-                stmt.setString(3, newNic);
-                stmt.setString(4, newIndustry);
-                stmt.setInt(5, clientId);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, newName);
+                    stmt.setString(2, newContact);
+                    stmt.setString(3, newNic);
+                    stmt.setString(4, newIndustry);
+                    stmt.setInt(5, clientId);
+                    return stmt.executeUpdate(); // Run update query
+                }
+            }).whenComplete(DataAccess.onEdt(updated -> {
+                if (updated == 0) {
+                    JOptionPane.showMessageDialog(this, "This client no longer exists.");
+                    dispose();
+                    return;
+                }
+                ClientCache.update(clientId, client -> client.withAdminFields(newName, newContact, newNic, newIndustry));
 
-                stmt.executeUpdate(); // Run update query
-
-                // Update table model with new values (so UI refreshes immediately)
-                tableModel.setValueAt(newName, rowIndex, 1);
-                tableModel.setValueAt(newContact, rowIndex, 2);
-                tableModel.setValueAt(newNic, rowIndex, 3);
-                tableModel.setValueAt(newIndustry, rowIndex, 4);
+                // Update the client row, and the client's name in the other views, immediately
+                Object[] row = {clientId, newName, newContact, newNic, newIndustry, "Edit", "Delete"};
+                if (parent instanceof AdminDashboard dashboard) {
+                    dashboard.getEvents().publish(new DomainEvent.ClientChanged(DomainEvent.Change.UPDATED, clientId, row));
+                } else {
+                    int index = TableRows.indexOf(tableModel, clientId); // The table may have changed meanwhile
+                    if (index >= 0) TableRows.setRow(tableModel, index, row);
+                }
 
                 // Success message
                 JOptionPane.showMessageDialog(this, "Client updated successfully!");
                 dispose(); // Close dialog
-            } catch (SQLException ex) {
+            }, error -> {
                 // Show error message on exception
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
 
         // ======= Cancel Button Action =======
         cancelBtn.addActionListener(e -> dispose()); // Close dialog without saving
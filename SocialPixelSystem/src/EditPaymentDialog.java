@@ -1,5 +1,5 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.*;
 import java.text.ParseException;
@@ -8,7 +8,7 @@ import java.util.Date;
 
 // Dialog for editing an existing payment record
 public class EditPaymentDialog extends JDialog {
-    private JComboBox<String> clientCombo;        // Dropdown for client names
+    private JComboBox<ClientRef> clientCombo;     // Dropdown for clients
     private JTextField amountField;               // Text field for payment amount
     private JFormattedTextField dateField;        // Date field formatted as yyyy-MM-dd
     private JComboBox<String> methodCombo;        // Dropdown for payment method
@@ -17,7 +17,7 @@ public class EditPaymentDialog extends JDialog {
     private AdminDashboard adminDashboard;        // Reference to AdminDashboard for updating stats
 
     // Constructor: Sets up UI and loads existing values from the table
-    public EditPaymentDialog(AdminDashboard parent, DefaultTableModel tableModel, int rowIndex) {
+    public EditPaymentDialog(AdminDashboard parent, TableModel tableModel, int rowIndex) {
         super(parent, "Edit Payment", true); // Modal dialog
         this.adminDashboard = parent;
 
@@ -35,7 +35,7 @@ public class EditPaymentDialog extends JDialog {
 
         // === Load data from the selected row ===
         paymentId = Integer.parseInt(tableModel.getValueAt(rowIndex, 0).toString());
-        String clientName = tableModel.getValueAt(rowIndex, 1).toString();
+        Object client = tableModel.getValueAt(rowIndex, 1); // ClientRef carrying the client's id
         String amount = tableModel.getValueAt(rowIndex, 2).toString();
         String date = tableModel.getValueAt(rowIndex, 3).toString();
         String method = tableModel.getValueAt(rowIndex, 4).toString();
@@ -46,7 +46,7 @@ public class EditPaymentDialog extends JDialog {
         panel.add(new JLabel("Client:"), gbc);
         gbc.gridx = 1;
         clientCombo = new JComboBox<>();
-        loadClients(clientName); // Load client list and select current client
+        ClientDirectory.populate(clientCombo, client); // Load client list and select current client
         panel.add(clientCombo, gbc);
 
         // === Amount Field ===
@@ -101,82 +101,67 @@ public class EditPaymentDialog extends JDialog {
         setContentPane(panel); // Add panel to the dialog
 
         // === Save Button Action ===
-        saveBtn.addActionListener(e -> {
+        saveBtn.addActionListener(Trace.action("Edit payment: save", e -> {
             // Retrieve form values
-            String newClientName = (String) clientCombo.getSelectedItem();
+            ClientRef newClient = (ClientRef) clientCombo.getSelectedItem();
             String newAmount = amountField.getText();
             Date newDate = (Date) dateField.getValue();
             String newMethod = (String) methodCombo.getSelectedItem();
             String newStatus = (String) statusCombo.getSelectedItem();
 
             // Validate fields
-            if (newClientName == null || newAmount.isEmpty() || newDate == null || newMethod.isEmpty() || newStatus.isEmpty()) {
+            if (newClient == null || newAmount.isEmpty() || newDate == null || newMethod.isEmpty() || newStatus.isEmpty()) {
                 JOptionPane.showMessageDialog(this, "Please fill all fields correctly.");
                 return;
             }
 
-            try (Connection conn = DBConnection.getConnection()) {
-                // Get client_id from client name
-                PreparedStatement clientStmt = conn.prepareStatement("SELECT client_id FROM clients WHERE name = ?");
-                clientStmt.setString(1, newClientName);
-                ResultSet clientRs = clientStmt.executeQuery();
-                int clientId = -1;
-                if (clientRs.next()) {
-                    clientId = clientRs.getInt("client_id");
-                }
-
-                if (clientId == -1) {
-                    JOptionPane.showMessageDialog(this, "Client not found.");
-                    return;
-                }
+            double parsedAmount;
+            try {
+                parsedAmount = Double.parseDouble(newAmount);
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Please fill all fields correctly.");
+                return;
+            }
+            java.sql.Date sqlDate = new java.sql.Date(newDate.getTime());
 
+            // Run the update in the background; the buttons stay disabled until it finishes
+            saveBtn.setEnabled(false);
+            cancelBtn.setEnabled(false);
+            DataAccess.query(conn -> {
                 // Prepare SQL update statement
                 String sql = "UPDATE payments SET client_id=?, amount=?, payment_date=?, method=?, status=? WHERE payment_id=?";
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, clientId);
-                stmt.setDouble(2, Double.parseDouble(newAmount));
-                stmt.setDate(3, new java.sql.Date(newDate.getTime()));
-                stmt.setString(4, newMethod);
-                stmt.setString(5, newStatus);
-                stmt.setInt(6, paymentId);
-
-                stmt.executeUpdate(); // Execute update query
-
-                // Update table row data immediately
-                tableModel.setValueAt(newClientName, rowIndex, 1);
-                tableModel.setValueAt(Double.parseDouble(newAmount), rowIndex, 2);
-                tableModel.setValueAt(new SimpleDateFormat("yyyy-MM-dd").format(newDate), rowIndex, 3);
-                tableModel.setValueAt(newMethod, rowIndex, 4);
-                tableModel.setValueAt(newStatus, rowIndex, 5);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, newClient.id());
+                    stmt.setDouble(2, parsedAmount);
+                    stmt.setDate(3, sqlDate);
+                    stmt.setString(4, newMethod);
+                    stmt.setString(5, newStatus);
+                    stmt.setInt(6, paymentId);
+                    return stmt.executeUpdate(); // Execute update query
+                }
+            }).whenComplete(DataAccess.onEdt(updated -> {
+                if (updated == 0) {
+                    JOptionPane.showMessageDialog(this, "This payment no longer exists.");
+                    dispose();
+                    return;
+                }
+                // Update the row on screen immediately
+                adminDashboard.getEvents().publish(new DomainEvent.PaymentChanged(DomainEvent.Change.UPDATED, paymentId,
+                        new Object[]{paymentId, newClient, parsedAmount, sqlDate, newMethod, newStatus, "Edit", "Delete"}));
 
-                adminDashboard.updateStats(); // Refresh stats on dashboard
+                // Move the old amount out of its status total and the new one in
+                adminDashboard.getStatistics().paymentChanged(Double.parseDouble(amount), status, parsedAmount, newStatus);
 
                 JOptionPane.showMessageDialog(this, "Payment updated successfully!");
                 dispose(); // Close the dialog
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage());
-            }
-        });
+            }, error -> {
+                saveBtn.setEnabled(true);
+                cancelBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(this, "Error: " + error.getMessage());
+            }));
+        }));
 
         // === Cancel Button Action ===
         cancelBtn.addActionListener(e -> dispose()); // Close dialog without saving
     }
-
-    // Load all client names into the dropdown and select the current one
-    private void loadClients(String selectedClient) {
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = "SELECT name FROM clients";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                String name = rs.getString("name");
-                clientCombo.addItem(name); // Add each name to combo box
-                if (name.equals(selectedClient)) {
-                    clientCombo.setSelectedItem(name); // Select current client
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-}
+}
\ No newline at end of file
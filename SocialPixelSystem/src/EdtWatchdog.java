@@ -0,0 +1,169 @@
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+// Detects stalls of the Event Dispatch Thread.
+// A daemon thread posts a ping to the event queue and waits for it to run; if it has not run after
+// THRESHOLD_MS the EDT is stuck, and the watchdog captures the EDT's stack at that moment and notes
+// whether it was inside JDBC. When the ping finally runs the stall's full duration is known and a
+// report goes into a ring buffer of the last MAX_REPORTS stalls (see getReports() and export()).
+//
+// Strict mode (-Dsocialpixel.edt.strict=true) makes borrowing a pooled connection on the EDT throw,
+// to find the remaining handlers that block the UI on the database.
+public class EdtWatchdog {
+    private static final boolean ENABLED = !Boolean.getBoolean("socialpixel.edtWatchdog.disabled");
+    private static final long THRESHOLD_MS = Long.getLong("socialpixel.edtWatchdog.thresholdMs", 250);
+    private static final long POLL_MS = Math.max(5, THRESHOLD_MS / 5);
+    private static final long PING_INTERVAL_MS = 100;
+    private static final int MAX_REPORTS = Integer.getInteger("socialpixel.edtWatchdog.reports", 50);
+    public static final boolean STRICT = Boolean.getBoolean("socialpixel.edt.strict");
+
+    private static final Logger LOG = Logger.getLogger(EdtWatchdog.class.getName());
+
+    // Frames that mean the EDT was waiting on the database
+    private static final String[] JDBC_FRAMES = {
+            "java.sql.", "com.mysql.", "ConnectionPool", "StatementCache", "JdbcMetrics", "DBConnection", "DatabaseConnection"
+    };
+
+    private static final AtomicBoolean started = new AtomicBoolean();
+    private static final Deque<StallReport> reports = new ArrayDeque<>(); // Guarded by itself, newest first
+    private static final LatencyHistogram stallDurations = new LatencyHistogram();
+    private static final AtomicLong edtAcquires = new AtomicLong();
+    private static volatile Thread edt;
+
+    // One stall: when it started, how long the EDT was unavailable, and what it was doing
+    public record StallReport(long startedAt, long durationMs, boolean inJdbc, StackTraceElement[] stack) {
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(String.format("%s  EDT stalled %d ms%s%n",
+                    new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(startedAt)), durationMs,
+                    inJdbc ? " in JDBC" : ""));
+            for (StackTraceElement frame : stack) out.append("    at ").append(frame).append('\n');
+            return out.toString();
+        }
+    }
+
+    // Start watching (idempotent; every window calls this)
+    public static void start() {
+        if (!ENABLED || !started.compareAndSet(false, true)) return;
+        Thread watcher = new Thread(EdtWatchdog::watch, "edt-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    // Most recent stalls, newest first
+    public static List<StallReport> getReports() {
+        synchronized (reports) {
+            return new ArrayList<>(reports);
+        }
+    }
+
+    // Distribution of stall durations (only stalls over the threshold are recorded)
+    public static LatencyHistogram.Summary getStallSummary() {
+        return stallDurations.summary();
+    }
+
+    // Connections borrowed on the EDT so far
+    public static long getEdtAcquires() {
+        return edtAcquires.get();
+    }
+
+    // Write every report in the buffer to a text file
+    public static void export(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("EDT stall reports (threshold " + THRESHOLD_MS + " ms), newest first\n\n");
+            for (StallReport report : getReports()) {
+                out.write(report.toString());
+                out.write('\n');
+            }
+        }
+    }
+
+    public static void clear() {
+        synchronized (reports) {
+            reports.clear();
+        }
+        stallDurations.reset();
+        edtAcquires.set(0);
+    }
+
+    // Called by the pool for every borrow
+    static void checkConnectionAcquire() {
+        if (!EventQueue.isDispatchThread()) return;
+        edtAcquires.incrementAndGet();
+        if (STRICT) throw new IllegalStateException("Database connection borrowed on the EDT; use DataAccess.query()");
+    }
+
+    private static void watch() {
+        try {
+            while (true) {
+                Ping ping = new Ping();
+                EventQueue.invokeLater(ping);
+                StackTraceElement[] stack = null;
+                long startedAt = System.currentTimeMillis();
+                while (!ping.await(POLL_MS)) {
+                    if (stack == null && System.nanoTime() - ping.sentAt > THRESHOLD_MS * 1_000_000L) {
+                        Thread thread = edt;
+                        stack = thread != null ? thread.getStackTrace() : new StackTraceElement[0];
+                    }
+                }
+                if (stack != null) record(new StallReport(startedAt, (ping.ranAt - ping.sentAt) / 1_000_000, inJdbc(stack), stack));
+                Thread.sleep(PING_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void record(StallReport report) {
+        stallDurations.record(report.durationMs() * 1_000_000);
+        synchronized (reports) {
+            if (reports.size() == MAX_REPORTS) reports.removeLast();
+            reports.addFirst(report);
+        }
+        LOG.warning(report.toString());
+    }
+
+    private static boolean inJdbc(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            for (String prefix : JDBC_FRAMES) {
+                if (frame.getClassName().startsWith(prefix)) return true;
+            }
+        }
+        return false;
+    }
+
+    // Event posted to the EDT; records when it ran and which thread is the EDT
+    private static final class Ping implements Runnable {
+        final long sentAt = System.nanoTime();
+        volatile long ranAt;
+        private boolean ran; // Guarded by this
+
+        @Override
+        public void run() {
+            edt = Thread.currentThread();
+            ranAt = System.nanoTime();
+            synchronized (this) {
+                ran = true;
+                notifyAll();
+            }
+        }
+
+        synchronized boolean await(long millis) throws InterruptedException {
+            if (!ran) wait(millis);
+            return ran;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-process publish/subscribe for DomainEvents. Listeners are registered per event type and always
+// run on the EDT, so they can touch their table models directly.
+public class EventBus {
+    private final Map<Class<? extends DomainEvent>, List<Consumer<DomainEvent>>> listeners = new ConcurrentHashMap<>();
+
+    // Register a listener; run the returned Runnable to unsubscribe
+    public <E extends DomainEvent> Runnable subscribe(Class<E> type, Consumer<? super E> listener) {
+        Consumer<DomainEvent> typed = event -> listener.accept(type.cast(event));
+        List<Consumer<DomainEvent>> list = listeners.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+        list.add(typed);
+        return () -> list.remove(typed);
+    }
+
+    // Deliver an event to the listeners of its type (immediately when called on the EDT)
+    public void publish(DomainEvent event) {
+        List<Consumer<DomainEvent>> list = listeners.get(event.getClass());
+        if (list == null || list.isEmpty()) return;
+        DataAccess.EDT.execute(() -> list.forEach(listener -> listener.accept(event)));
+    }
+
+    // Drop every listener (the views that registered them are going away)
+    public void clear() {
+        listeners.clear();
+    }
+}
@@ -0,0 +1,274 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+// Per-query timings for every PreparedStatement the pool hands out.
+// Statements are grouped by SQL fingerprint (the SQL with literals replaced by '?' and whitespace
+// collapsed), and for each one we keep call, row and error counts plus latency histograms for
+// prepare, execute and fetch (time spent in ResultSet.next()). snapshot() returns the figures and
+// a text table is logged every DUMP_INTERVAL_MS. Each execute is also a JFR SqlStatement event (AppEvents).
+public class JdbcMetrics {
+    // Wrap statements at all (-Dsocialpixel.jdbc.metrics.disabled=true turns it off)
+    public static final boolean ENABLED = !Boolean.getBoolean("socialpixel.jdbc.metrics.disabled");
+    private static final long DUMP_INTERVAL_MS = Long.getLong("socialpixel.jdbc.dumpIntervalMs", 300_000);
+    private static final int MAX_FINGERPRINTS = 500; // Guards against SQL built with inlined values
+
+    private static final Logger LOG = Logger.getLogger(JdbcMetrics.class.getName());
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, QueryMetrics> QUERIES = new ConcurrentHashMap<>();
+    private static final AtomicBoolean dumperStarted = new AtomicBoolean();
+
+    // Figures for one fingerprint at a point in time; rows counts rows fetched plus rows updated
+    public record Snapshot(String fingerprint, long calls, long rows, long errors,
+                           LatencyHistogram.Summary prepare, LatencyHistogram.Summary execute,
+                           LatencyHistogram.Summary fetch) {}
+
+    // Live counters for one fingerprint
+    private static final class QueryMetrics {
+        final String fingerprint;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final LatencyHistogram prepare = new LatencyHistogram();
+        final LatencyHistogram execute = new LatencyHistogram();
+        final LatencyHistogram fetch = new LatencyHistogram();
+
+        QueryMetrics(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(fingerprint, calls.get(), rows.get(), errors.get(),
+                    prepare.summary(), execute.summary(), fetch.summary());
+        }
+    }
+
+    // SQL with literals replaced by '?' and whitespace collapsed
+    public static String fingerprint(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        return WHITESPACE.matcher(s).replaceAll(" ").strip();
+    }
+
+    // Called by the pool for each prepareStatement(); 'prepareNanos' is how long preparing took and
+    // 'connectionWaitNanos' how long borrowing the connection waited for the pool
+    static PreparedStatement wrap(PreparedStatement statement, String sql, long prepareNanos, long connectionWaitNanos) {
+        QueryMetrics metrics = metricsFor(sql);
+        metrics.prepare.record(prepareNanos);
+        startDumper();
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new StatementHandler(statement, metrics, connectionWaitNanos));
+    }
+
+    // Every fingerprint seen so far, slowest total execute time first
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> all = new ArrayList<>();
+        for (QueryMetrics metrics : QUERIES.values()) all.add(metrics.snapshot());
+        all.sort(Comparator.comparingDouble((Snapshot s) -> s.execute().meanMs() * s.execute().count()).reversed());
+        return all;
+    }
+
+    // Text table of snapshot(), as logged periodically
+    public static String dump() {
+        StringBuilder out = new StringBuilder(String.format("%-8s %-8s %-6s %-26s %-26s %-26s %s%n",
+                "calls", "rows", "errors", "execute p50/p95/p99 ms", "fetch p50/p95/p99 ms", "prepare p50/p95/p99 ms", "sql"));
+        for (Snapshot s : snapshot()) {
+            out.append(String.format("%-8d %-8d %-6d %-26s %-26s %-26s %s%n", s.calls(), s.rows(), s.errors(),
+                    percentiles(s.execute()), percentiles(s.fetch()), percentiles(s.prepare()), abbreviate(s.fingerprint())));
+        }
+        return out.toString();
+    }
+
+    public static void reset() {
+        QUERIES.clear();
+    }
+
+    private static QueryMetrics metricsFor(String sql) {
+        String key = fingerprint(sql);
+        QueryMetrics metrics = QUERIES.get(key);
+        if (metrics != null) return metrics;
+        if (QUERIES.size() >= MAX_FINGERPRINTS) key = "(other)";
+        return QUERIES.computeIfAbsent(key, QueryMetrics::new);
+    }
+
+    private static void startDumper() {
+        if (DUMP_INTERVAL_MS <= 0 || !dumperStarted.compareAndSet(false, true)) return;
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jdbc-metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleWithFixedDelay(() -> LOG.info("JDBC query metrics:\n" + dump()),
+                DUMP_INTERVAL_MS, DUMP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static String percentiles(LatencyHistogram.Summary s) {
+        return s.count() == 0 ? "-" : String.format(Locale.ROOT, "%.1f/%.1f/%.1f", s.p50Ms(), s.p95Ms(), s.p99Ms());
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 120 ? sql : sql.substring(0, 117) + "...";
+    }
+
+    // Times execute*() calls and wraps the result sets they return
+    private static final class StatementHandler implements InvocationHandler {
+        private final PreparedStatement target;
+        private final QueryMetrics metrics;
+        private final long connectionWaitNanos;
+        private ResultSetHandler open; // Result set of the last execute, recorded when the statement moves on
+
+        StatementHandler(PreparedStatement target, QueryMetrics metrics, long connectionWaitNanos) {
+            this.target = target;
+            this.metrics = metrics;
+            this.connectionWaitNanos = connectionWaitNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Timed[" + target + "]";
+                }
+                default -> { }
+            }
+            boolean execute = name.startsWith("execute");
+            if ((execute || "close".equals(name)) && open != null) {
+                open.record(); // Callers often read one row and close the statement, not the result set
+                open = null;
+            }
+            Trace.Span span = execute ? Trace.span("execute", "db").arg("sql", metrics.fingerprint) : Trace.Span.NONE;
+            AppEvents.SqlStatement event = execute ? new AppEvents.SqlStatement() : null;
+            if (event != null) event.begin();
+            long start = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (execute && e.getCause() instanceof SQLException) {
+                    metrics.errors.incrementAndGet();
+                    event.failed = true;
+                    commit(event, 0);
+                }
+                throw e.getCause();
+            } finally {
+                span.close();
+            }
+            if (execute) {
+                metrics.execute.record(System.nanoTime() - start);
+                metrics.calls.incrementAndGet();
+                long updated = 0;
+                if (result instanceof Integer n) updated = Math.max(0, n);
+                else if (result instanceof Long n) updated = Math.max(0, n);
+                else if (result instanceof int[] batch) for (int n : batch) updated += Math.max(0, n);
+                metrics.rows.addAndGet(updated);
+                // A query's event stays open until its result set has been read
+                if (!(result instanceof ResultSet)) commit(event, updated);
+            }
+            if (result instanceof ResultSet rs && (execute || "getResultSet".equals(name))) {
+                open = new ResultSetHandler(rs, metrics, this, event);
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, open);
+            }
+            return result;
+        }
+
+        void commit(AppEvents.SqlStatement event, long rows) {
+            if (event == null || !event.shouldCommit()) return;
+            event.fingerprint = metrics.fingerprint;
+            event.rows = rows;
+            event.connectionWait = connectionWaitNanos;
+            event.window = AppEvents.window();
+            event.commit();
+        }
+    }
+
+    // Adds up time spent in next() and the rows read; recorded once the result set is exhausted or closed
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryMetrics metrics;
+        private final StatementHandler statement;
+        private final AppEvents.SqlStatement event; // Committed by record(); null for getResultSet()
+        private final Trace.Span span = Trace.span("iterate ResultSet", "db"); // Closed by record()
+        private long fetchNanos;
+        private long rows;
+        private boolean recorded;
+
+        ResultSetHandler(ResultSet target, QueryMetrics metrics, StatementHandler statement, AppEvents.SqlStatement event) {
+            this.target = target;
+            this.metrics = metrics;
+            this.statement = statement;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "next" -> {
+                    long start = System.nanoTime();
+                    boolean more = (boolean) call(method, args);
+                    fetchNanos += System.nanoTime() - start;
+                    if (more) rows++;
+                    else record();
+                    return more;
+                }
+                case "close" -> {
+                    record();
+                    return call(method, args);
+                }
+                default -> {
+                    return call(method, args);
+                }
+            }
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void record() {
+            if (recorded) return;
+            recorded = true;
+            metrics.fetch.record(fetchNanos);
+            metrics.rows.addAndGet(rows);
+            span.arg("rows", rows).close();
+            statement.commit(event, rows);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Keyset (seek) pagination over an integer primary key.
+// Each page is fetched with "WHERE key > last ORDER BY key LIMIT n", so MySQL reads one page
+// from the index no matter how deep the user pages, unlike LIMIT/OFFSET.
+public class KeysetPager {
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("socialpixel.pageSize", 100);
+
+    private static final String ESTIMATE_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+    // Set once the database turns out not to have MySQL's TABLE_ROWS (e.g. H2); pages then count exactly
+    private static volatile boolean estimateUnsupported;
+
+    // Which page to fetch relative to the one on screen
+    public enum Direction { FIRST, NEXT, PREVIOUS, CURRENT }
+
+    // Maps the current ResultSet row to a table row
+    @FunctionalInterface
+    public interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+
+    // One fetched page plus the navigation state it implies
+    public record Page(List<Object[]> rows, Integer firstKey, Integer lastKey,
+                       boolean hasPrevious, boolean hasNext, int pageNumber, long totalEstimate) {}
+
+    private final String selectSql;   // SELECT ... FROM ... [JOIN ...] with no WHERE/ORDER BY/LIMIT
+    private final String keyColumn;   // Key as written in SQL, e.g. "p.payment_id"
+    private final String keyLabel;    // Key as named in the result set, e.g. "payment_id"
+    private final String tableName;   // Table used for the row-count estimate
+
+    // State of the page currently on screen; replaced by accept() on the EDT
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile Page current = new Page(List.of(), null, null, false, false, 0, -1);
+
+    public KeysetPager(String selectSql, String keyColumn, String keyLabel, String tableName) {
+        this.selectSql = selectSql.strip();
+        this.keyColumn = keyColumn;
+        this.keyLabel = keyLabel;
+        this.tableName = tableName;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public Page getCurrent() {
+        return current;
+    }
+
+    // Fetch a page relative to the current one (call off the EDT); does not change pager state
+    public Page fetch(Connection conn, Direction direction, RowMapper mapper) throws SQLException {
+        Page on = current;
+        int size = pageSize;
+        // Nothing to seek from: fall back to a refresh or the first page
+        if (direction == Direction.NEXT && !on.hasNext()) direction = Direction.CURRENT;
+        if (direction == Direction.PREVIOUS && !on.hasPrevious()) direction = Direction.FIRST;
+        if (on.firstKey() == null) direction = Direction.FIRST;
+
+        Page page = switch (direction) {
+            case FIRST -> seek(conn, null, ">", false, size, mapper, false, 1);
+            case CURRENT -> seek(conn, on.firstKey(), ">=", false, size, mapper, on.hasPrevious(), on.pageNumber());
+            case NEXT -> seek(conn, on.lastKey(), ">", false, size, mapper, true, on.pageNumber() + 1);
+            case PREVIOUS -> seek(conn, on.firstKey(), "<", true, size, mapper, false, on.pageNumber() - 1);
+        };
+        return withEstimate(conn, page);
+    }
+
+    // Make a fetched page the current one (call on the EDT once the page is shown)
+    public void accept(Page page) {
+        current = page;
+    }
+
+    // Run one seek query; fetches size + 1 rows to learn whether another page exists beyond it
+    private Page seek(Connection conn, Integer key, String op, boolean backwards, int size,
+                      RowMapper mapper, boolean hasPrevious, int pageNumber) throws SQLException {
+        StringBuilder sql = new StringBuilder(selectSql);
+        if (key != null) sql.append(" WHERE ").append(keyColumn).append(' ').append(op).append(" ?");
+        sql.append(" ORDER BY ").append(keyColumn).append(backwards ? " DESC" : " ASC").append(" LIMIT ?");
+
+        String text = sql.toString();
+        List<Object> params = key != null ? List.of(key, size + 1) : List.of(size + 1);
+        Fetched fetched = QueryCache.get(conn, text, params, c -> {
+            List<Object[]> found = new ArrayList<>();
+            List<Integer> foundKeys = new ArrayList<>();
+            try (PreparedStatement stmt = c.prepareStatement(text)) {
+                int i = 1;
+                if (key != null) stmt.setInt(i++, key);
+                stmt.setInt(i, size + 1);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(mapper.map(rs));
+                        foundKeys.add(rs.getInt(keyLabel));
+                    }
+                }
+            }
+            return new Fetched(List.copyOf(found), List.copyOf(foundKeys));
+        });
+        // The cached lists are shared; trim and reverse copies
+        List<Object[]> rows = new ArrayList<>(fetched.rows());
+        List<Integer> keys = new ArrayList<>(fetched.keys());
+        boolean more = rows.size() > size;
+        if (more) {
+            rows.remove(rows.size() - 1);
+            keys.remove(keys.size() - 1);
+        }
+        if (backwards) {
+            // Walked backwards from the old first row: there is always a next page, and 'more' means another previous one
+            Collections.reverse(rows);
+            Collections.reverse(keys);
+            return new Page(rows, first(keys), last(keys), more, true, more ? pageNumber : 1, -1);
+        }
+        return new Page(rows, first(keys), last(keys), hasPrevious, more, pageNumber, -1);
+    }
+
+    // Attach the table's approximate row count (InnoDB statistics; no full scan). Where those statistics
+    // are unavailable, fall back to COUNT(*), cached until the next write to the table.
+    private Page withEstimate(Connection conn, Page page) {
+        long estimate = estimateUnsupported ? -1 : statisticsEstimate(conn);
+        if (estimate < 0) estimate = exactCount(conn);
+        return new Page(page.rows(), page.firstKey(), page.lastKey(), page.hasPrevious(), page.hasNext(),
+                page.pageNumber(), estimate);
+    }
+
+    // TABLE_ROWS from information_schema, or -1 if the database does not report it
+    private long statisticsEstimate(Connection conn) {
+        try {
+            return QueryCache.get(conn, ESTIMATE_SQL, List.of(tableName), c -> {
+                try (PreparedStatement stmt = c.prepareStatement(ESTIMATE_SQL)) {
+                    stmt.setString(1, tableName);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) return -1L;
+                        long rows = rs.getLong(1);
+                        return rs.wasNull() ? -1L : rows;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            // SQLState class 42: no such table/column here, so don't ask again; anything else may be transient
+            if (e.getSQLState() != null && e.getSQLState().startsWith("42")) estimateUnsupported = true;
+            return -1;
+        }
+    }
+
+    private long exactCount(Connection conn) {
+        String sql = "SELECT COUNT(*) FROM " + tableName;
+        try {
+            return QueryCache.get(conn, sql, List.of(), c -> {
+                try (PreparedStatement stmt = c.prepareStatement(sql);
+                     ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : -1L;
+                }
+            });
+        } catch (SQLException e) {
+            return -1; // The total is cosmetic; leave it unknown
+        }
+    }
+
+    // Rows and keys of one seek query as cached
+    private record Fetched(List<Object[]> rows, List<Integer> keys) {}
+
+    private static Integer first(List<Integer> keys) {
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    private static Integer last(List<Integer> keys) {
+        return keys.isEmpty() ? null : keys.get(keys.size() - 1);
+    }
+}
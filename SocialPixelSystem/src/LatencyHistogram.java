@@ -0,0 +1,84 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free latency histogram with log-scaled buckets (four per power of two, so any percentile is
+// within about 19% of the true value) from 1 microsecond to about 35 minutes. Recording is a few atomic
+// increments, cheap enough to run on every JDBC call.
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 31 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    // Percentiles and totals at a point in time, in milliseconds
+    public record Summary(long count, double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    count, meanMs, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucket(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public Summary summary() {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) return new Summary(0, 0, 0, 0, 0, 0);
+        double max = maxNanos.get() / 1e6;
+        return new Summary(n, totalNanos.get() / 1e6 / n,
+                Math.min(max, percentile(snapshot, n, 0.50)),
+                Math.min(max, percentile(snapshot, n, 0.95)),
+                Math.min(max, percentile(snapshot, n, 0.99)),
+                max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    // Upper bound (ms) of the bucket holding the q-th value
+    private static double percentile(long[] snapshot, long n, double q) {
+        long rank = (long) Math.ceil(q * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBoundNanos(i) / 1e6;
+        }
+        return upperBoundNanos(BUCKETS - 1) / 1e6;
+    }
+
+    private static int bucket(long nanos) {
+        long micros = nanos / 1_000;
+        if (micros < 1) return 0;
+        int power = 63 - Long.numberOfLeadingZeros(micros);                    // floor(log2)
+        int sub = power < 2 ? 0 : (int) ((micros >> (power - 2)) & (SUB_BUCKETS - 1)); // Next two bits
+        return Math.min(BUCKETS - 1, power * SUB_BUCKETS + sub);
+    }
+
+    private static double upperBoundNanos(int bucket) {
+        int power = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        return (1L << power) * (1 + (sub + 1) / (double) SUB_BUCKETS) * 1_000;
+    }
+}
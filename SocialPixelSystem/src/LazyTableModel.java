@@ -0,0 +1,209 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+import javax.swing.table.AbstractTableModel;
+
+// Table model that reports the full row count but only holds the blocks of rows around the viewport.
+// Blocks are fetched on virtual threads when JTable first asks for one of their cells, the next block
+// is prefetched as the user scrolls, and at most MAX_BLOCKS are kept, so heap use does not grow with
+// the table. All state is confined to the EDT; only the SQL runs in the background.
+public class LazyTableModel extends AbstractTableModel {
+    // Use this model instead of paged tables (-Dsocialpixel.tables.virtual=true)
+    public static final boolean ENABLED = Boolean.getBoolean("socialpixel.tables.virtual");
+
+    private static final int BLOCK_SIZE = Integer.getInteger("socialpixel.lazy.blockSize", 200);
+    private static final int MAX_BLOCKS = Integer.getInteger("socialpixel.lazy.maxBlocks", 16);
+
+    private final String[] columns;
+    private final String selectSql;   // SELECT ... FROM ... [JOIN ...] with no WHERE/ORDER BY/LIMIT
+    private final String keyColumn;   // Key as written in SQL, e.g. "p.payment_id"
+    private final String keyLabel;    // Key as named in the result set
+    private final String countSql;
+    private final KeysetPager.RowMapper mapper;
+    private final IntPredicate editableColumns;
+
+    private int rowCount;
+    private int generation;            // Bumped by refresh() so blocks from an older load are dropped
+    private final Map<Integer, Object[][]> blocks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > MAX_BLOCKS;
+        }
+    };
+    // Last key of each block seen so far, so the following block can be fetched by seeking
+    // instead of OFFSET; one int per block, kept even when the block's rows are evicted
+    private final Map<Integer, Integer> blockLastKeys = new HashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+
+    public LazyTableModel(String[] columns, String selectSql, String keyColumn, String keyLabel,
+                          String countSql, KeysetPager.RowMapper mapper, IntPredicate editableColumns) {
+        this.columns = columns;
+        this.selectSql = selectSql.strip();
+        this.keyColumn = keyColumn;
+        this.keyLabel = keyLabel;
+        this.countSql = countSql;
+        this.mapper = mapper;
+        this.editableColumns = editableColumns;
+    }
+
+    // Drop every cached block and re-read the row count; completes on the EDT once the count is applied
+    public CompletableFuture<Integer> refresh() {
+        int gen = ++generation;
+        blocks.clear();
+        blockLastKeys.clear();
+        pending.clear();
+        CompletableFuture<Integer> applied = new CompletableFuture<>();
+        QueryCache.query(countSql, List.of(), conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(countSql);
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }).whenComplete(DataAccess.onEdt(count -> {
+            if (gen == generation) {
+                rowCount = count;
+                fireTableDataChanged();
+            }
+            applied.complete(count);
+        }, applied::completeExceptionally));
+        return applied;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    // Only rows whose block is loaded: the Edit/Delete editors read the row's ID and values from the model
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        if (!editableColumns.test(column)) return false;
+        Object[][] data = blocks.get(row / BLOCK_SIZE);
+        return data != null && row % BLOCK_SIZE < data.length;
+    }
+
+    // Cells of blocks that have not arrived yet read as null and are repainted when the block lands
+    @Override
+    public Object getValueAt(int row, int column) {
+        int block = row / BLOCK_SIZE;
+        Object[][] data = blocks.get(block);
+        if (data == null) {
+            request(block);
+            return null;
+        }
+        request(block + 1); // Prefetch ahead of the scroll
+        int index = row % BLOCK_SIZE;
+        return index < data.length ? data[index][column] : null;
+    }
+
+    // Patch a cached row in place (e.g. after an edit dialog saves)
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        Object[][] data = blocks.get(row / BLOCK_SIZE);
+        int index = row % BLOCK_SIZE;
+        if (data != null && index < data.length) {
+            data[index][column] = value;
+            fireTableCellUpdated(row, column);
+        }
+    }
+
+    // Replace the cached row with this ID (column 0), if its block is loaded; other blocks read it fresh later
+    public void updateRow(int id, Object[] row) {
+        for (Map.Entry<Integer, Object[][]> entry : blocks.entrySet()) {
+            Object[][] data = entry.getValue();
+            for (int i = 0; i < data.length; i++) {
+                if (data[i][0] instanceof Integer key && key == id) {
+                    data[i] = row.clone();
+                    int index = entry.getKey() * BLOCK_SIZE + i;
+                    fireTableRowsUpdated(index, index);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Rewrite one column of every cached row (e.g. a client renamed)
+    public void updateColumn(int column, UnaryOperator<Object> update) {
+        for (Map.Entry<Integer, Object[][]> entry : blocks.entrySet()) {
+            Object[][] data = entry.getValue();
+            for (int i = 0; i < data.length; i++) {
+                Object value = update.apply(data[i][column]);
+                if (value != data[i][column]) {
+                    data[i][column] = value;
+                    fireTableCellUpdated(entry.getKey() * BLOCK_SIZE + i, column);
+                }
+            }
+        }
+    }
+
+    // Fetch a block in the background unless it is cached, in flight or past the end
+    private void request(int block) {
+        if (block < 0 || (long) block * BLOCK_SIZE >= rowCount) return;
+        if (blocks.containsKey(block) || !pending.add(block)) return;
+        int gen = generation;
+        Integer anchor = blockLastKeys.get(block - 1);
+        DataAccess.query(conn -> fetchBlock(conn, block, anchor)).whenComplete(DataAccess.onEdt(fetched -> {
+            if (gen != generation) return;
+            pending.remove(block);
+            if (fetched == null) return;
+            Object[][] data = fetched.rows();
+            blocks.put(block, data);
+            blockLastKeys.put(block, fetched.lastKey());
+            int first = block * BLOCK_SIZE;
+            int last = Math.min(first + data.length, rowCount) - 1;
+            if (last >= first) fireTableRowsUpdated(first, last);
+        }, error -> {
+            if (gen != generation) return;
+            pending.remove(block);
+            error.printStackTrace();
+        }));
+    }
+
+    // Seek from the previous block's last key when known, otherwise fall back to OFFSET (scrollbar jumps)
+    private Block fetchBlock(Connection conn, int block, Integer anchor) throws SQLException {
+        String sql = anchor != null
+                ? selectSql + " WHERE " + keyColumn + " > ? ORDER BY " + keyColumn + " LIMIT ?"
+                : selectSql + " ORDER BY " + keyColumn + " LIMIT ? OFFSET ?";
+        List<Object[]> rows = new ArrayList<>(BLOCK_SIZE);
+        int lastKey = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (anchor != null) {
+                stmt.setInt(1, anchor);
+                stmt.setInt(2, BLOCK_SIZE);
+            } else {
+                stmt.setInt(1, BLOCK_SIZE);
+                stmt.setInt(2, block * BLOCK_SIZE);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                    lastKey = rs.getInt(keyLabel);
+                }
+            }
+        }
+        return rows.isEmpty() ? null : new Block(rows.toArray(new Object[0][]), lastKey);
+    }
+
+    // Rows of one block and the key of its last row
+    private record Block(Object[][] rows, int lastKey) {}
+}
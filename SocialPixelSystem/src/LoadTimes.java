@@ -0,0 +1,39 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// How long each view's table took from "Loading..." to rows (or an error) on screen.
+// Recorded by LoadingTable for tables that were given a load name; read by the Diagnostics view.
+public class LoadTimes {
+    private static final Map<String, ViewLoads> VIEWS = new ConcurrentHashMap<>();
+
+    // One view's figures at a point in time; lastMs is the most recent load
+    public record Snapshot(String view, long failures, double lastMs, LatencyHistogram.Summary loads) {}
+
+    private static final class ViewLoads {
+        final LatencyHistogram loads = new LatencyHistogram();
+        final AtomicLong failures = new AtomicLong();
+        volatile long lastNanos;
+    }
+
+    public static void record(String view, long nanos, boolean failed) {
+        ViewLoads loads = VIEWS.computeIfAbsent(view, v -> new ViewLoads());
+        loads.loads.record(nanos);
+        loads.lastNanos = nanos;
+        if (failed) loads.failures.incrementAndGet();
+    }
+
+    // Every view with at least one load, by name
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> all = new ArrayList<>();
+        VIEWS.forEach((view, loads) -> all.add(new Snapshot(view, loads.failures.get(), loads.lastNanos / 1e6, loads.loads.summary())));
+        all.sort((a, b) -> a.view().compareTo(b.view()));
+        return all;
+    }
+
+    public static void reset() {
+        VIEWS.clear();
+    }
+}
@@ -0,0 +1,81 @@
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import javax.swing.JTable;
+import javax.swing.table.TableModel;
+
+// JTable that paints a placeholder message ("Loading...", "No records", errors) while it has no rows
+public class LoadingTable extends JTable {
+    public static final String LOADING = "Loading...";
+    public static final String EMPTY = "No records found.";
+
+    private String placeholder = LOADING;
+    private String loadName;  // Name its load times are recorded under (LoadTimes), or null
+    private long loadingSince; // System.nanoTime() of showLoading(), 0 when not loading
+    private AppEvents.ViewLoad loadEvent; // JFR event of the load in progress, if it has a load name
+
+    public LoadingTable(TableModel model) {
+        super(model);
+        setFillsViewportHeight(true); // Paint the placeholder over the whole viewport
+    }
+
+    // Message shown while the table is empty; null shows nothing
+    public void setPlaceholder(String placeholder) {
+        this.placeholder = placeholder;
+        repaint();
+    }
+
+    // Record the time from showLoading() to showLoaded()/showError() under this name (LoadTimes and a JFR ViewLoad event)
+    public void setLoadName(String loadName) {
+        this.loadName = loadName;
+    }
+
+    public void showLoading() {
+        loadingSince = System.nanoTime(); // A reload supersedes the load in progress
+        if (loadName != null) {
+            loadEvent = new AppEvents.ViewLoad();
+            loadEvent.begin();
+        }
+        setPlaceholder(LOADING);
+    }
+
+    // Call after a load finishes; shows the "no records" message if nothing arrived
+    public void showLoaded() {
+        loadFinished(false);
+        setPlaceholder(EMPTY);
+    }
+
+    public void showError(String message) {
+        loadFinished(true);
+        setPlaceholder(message);
+    }
+
+    private void loadFinished(boolean failed) {
+        if (loadingSince != 0 && loadName != null) LoadTimes.record(loadName, System.nanoTime() - loadingSince, failed);
+        if (loadEvent != null && loadEvent.shouldCommit()) {
+            loadEvent.view = loadName;
+            loadEvent.rows = getRowCount();
+            loadEvent.failed = failed;
+            loadEvent.window = AppEvents.windowOf(this);
+            loadEvent.commit();
+        }
+        loadingSince = 0;
+        loadEvent = null;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (getRowCount() > 0 || placeholder == null) return;
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setColor(Color.GRAY);
+        g2.setFont(getFont().deriveFont(14f));
+        FontMetrics fm = g2.getFontMetrics();
+        int x = Math.max(10, (getWidth() - fm.stringWidth(placeholder)) / 2);
+        g2.drawString(placeholder, x, 40);
+        g2.dispose();
+    }
+}
@@ -12,12 +12,14 @@ public class LoginWindow extends JFrame {
 
     // Default constructor
     public LoginWindow() {
+        EdtWatchdog.start(); // Report UI freezes (no-op if already running)
+        ContinuousRecording.startIfConfigured(); // -Dsocialpixel.jfr.continuous=true
         initComponents(); // Initialize the GUI
     }
 
     // Constructor with predefined username and password (e.g., after registration)
     public LoginWindow(String username, String password) {
-        initComponents();
+        this();
         usernameField.setText(username);             // Set pre-filled username
         passwordField.setText(password);             // Set pre-filled password
     }
@@ -73,7 +75,7 @@ public class LoginWindow extends JFrame {
         registerButton.setForeground(Color.WHITE);
 
         // ===== Login Button Action =====
-        loginButton.addActionListener(e -> {
+        loginButton.addActionListener(Trace.action("Login", e -> {
             String username = usernameField.getText().trim();
             String password = new String(passwordField.getPassword());
 
@@ -84,16 +86,27 @@ public class LoginWindow extends JFrame {
                 return;
             }
 
-            // Authenticate user (client)
-            if (authenticate(username, password)) {
-                dispose(); // Close login window
-                int clientId = getClientId(username); // Get ID of logged-in client
-                new ClientDashboard(clientId).setVisible(true); // Open client dashboard
-            } else {
-                // Show error if login fails
-                JOptionPane.showMessageDialog(this, "Invalid credentials!", "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        });
+            // Authenticate user (client) in the background so the window stays responsive
+            loginButton.setEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            DataAccess.query(conn -> authenticate(conn, username, password) ? getClientId(conn, username) : null)
+                    .whenComplete(DataAccess.onEdt(clientId -> {
+                        loginButton.setEnabled(true);
+                        setCursor(Cursor.getDefaultCursor());
+                        if (clientId != null) {
+                            dispose(); // Close login window
+                            new ClientDashboard(clientId).setVisible(true); // Open client dashboard
+                        } else {
+                            // Show error if login fails
+                            JOptionPane.showMessageDialog(this, "Invalid credentials!", "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    }, error -> {
+                        loginButton.setEnabled(true);
+                        setCursor(Cursor.getDefaultCursor());
+                        // Show SQL error
+                        JOptionPane.showMessageDialog(this, "Error authenticating: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }));
+        }));
 
         // ===== Register Button Action =====
         registerButton.addActionListener(e -> {
@@ -104,13 +117,15 @@ public class LoginWindow extends JFrame {
         // Add buttons to panel
         buttonPanel.add(loginButton);
         buttonPanel.add(registerButton);
-        add(buttonPanel, BorderLayout.SOUTH); // Add to bottom
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(buttonPanel, BorderLayout.CENTER);
+        bottomPanel.add(new ConnectionStatusBar(), BorderLayout.SOUTH); // Shown only while the database is degraded/offline
+        add(bottomPanel, BorderLayout.SOUTH); // Add to bottom
     }
 
-    // Method to authenticate user against the database
-    private boolean authenticate(String username, String password) {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
+    // Method to authenticate user against the database (called off the EDT)
+    static boolean authenticate(Connection conn, String username, String password) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
                  "SELECT COUNT(*) FROM clients WHERE username = ? AND password = ?")) {
 
             stmt.setString(1, username);
@@ -119,31 +134,12 @@ public class LoginWindow extends JFrame {
             ResultSet rs = stmt.executeQuery();
             rs.next();
             return rs.getInt(1) > 0; // Returns true if any record is found
-
-        } catch (SQLException e) {
-            // Show SQL error
-            JOptionPane.showMessageDialog(this, "Error authenticating: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            return false;
         }
     }
 
-    // Method to fetch the client_id for a given username
-    private int getClientId(String username) {
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT client_id FROM clients WHERE username = ?")) {
-
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getInt("client_id"); // Return client ID
-            }
-
-        } catch (SQLException e) {
-            // Show SQL error
-            JOptionPane.showMessageDialog(this, "Error fetching client ID: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
-        return -1; // Return -1 if not found or error occurred
+    // Method to fetch the client_id for a given username (called off the EDT).
+    // Goes through the client cache, which also warms it for the dashboard's details tab.
+    private int getClientId(Connection conn, String username) throws SQLException {
+        return ClientCache.idForUsername(conn, username); // -1 if not found
     }
 }
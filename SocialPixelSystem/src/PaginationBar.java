@@ -0,0 +1,68 @@
+import java.awt.Color;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.util.function.Consumer;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+// Previous/Next controls, page-size picker and row-count estimate shown under a paged table
+public class PaginationBar extends JPanel {
+    private static final Integer[] PAGE_SIZES = {25, 50, 100, 250, 500};
+
+    private final JButton prevBtn = new JButton("< Previous");
+    private final JButton nextBtn = new JButton("Next >");
+    private final JLabel pageLabel = new JLabel(" ");
+
+    // 'navigate' is called on the EDT with the page the user asked for
+    public PaginationBar(KeysetPager pager, Consumer<KeysetPager.Direction> navigate) {
+        super(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        setOpaque(false);
+
+        prevBtn.setFocusPainted(false);
+        nextBtn.setFocusPainted(false);
+        pageLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        pageLabel.setForeground(Color.DARK_GRAY);
+
+        JComboBox<Integer> sizeCombo = new JComboBox<>(PAGE_SIZES);
+        sizeCombo.setSelectedItem(pager.getPageSize());
+        if (sizeCombo.getSelectedIndex() < 0) {
+            sizeCombo.addItem(pager.getPageSize());
+            sizeCombo.setSelectedItem(pager.getPageSize());
+        }
+        sizeCombo.addActionListener(e -> {
+            pager.setPageSize((Integer) sizeCombo.getSelectedItem());
+            navigate.accept(KeysetPager.Direction.FIRST);
+        });
+
+        prevBtn.addActionListener(e -> navigate.accept(KeysetPager.Direction.PREVIOUS));
+        nextBtn.addActionListener(e -> navigate.accept(KeysetPager.Direction.NEXT));
+
+        add(prevBtn);
+        add(nextBtn);
+        add(pageLabel);
+        add(new JLabel("Rows per page:"));
+        add(sizeCombo);
+        update(pager.getCurrent());
+    }
+
+    // Reflect the page now on screen
+    public void update(KeysetPager.Page page) {
+        prevBtn.setEnabled(page.hasPrevious());
+        nextBtn.setEnabled(page.hasNext());
+        String text = page.pageNumber() > 0 ? "Page " + page.pageNumber() : " ";
+        if (page.totalEstimate() >= 0) {
+            text += String.format("  (~%,d rows total)", page.totalEstimate());
+        }
+        pageLabel.setText(text);
+    }
+
+    // Disable navigation while a page is being fetched
+    public void setBusy(boolean busy) {
+        if (busy) {
+            prevBtn.setEnabled(false);
+            nextBtn.setEnabled(false);
+        }
+    }
+}
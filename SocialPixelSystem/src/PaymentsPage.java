@@ -1,14 +1,26 @@
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.sql.*;
+import java.util.concurrent.CompletableFuture;
 
 // This class represents the Payments tab in the AdminDashboard
 public class PaymentsPage extends JPanel {
-    private JTable paymentTable;              // Table to display payments
+    private LoadingTable paymentTable;        // Table to display payments
     private DefaultTableModel tableModel;     // Table model to manage payment data
     private AdminDashboard adminDashboard;    // Reference to the parent dashboard
+    private final DataAccess.Latest loads = new DataAccess.Latest(); // Newest load wins
+    private static final String PAYMENTS_SQL = """
+            SELECT p.payment_id, p.client_id, c.name, p.amount, p.payment_date, p.method, p.status
+            FROM payments p
+            JOIN clients c ON p.client_id = c.client_id
+            """;
+    // Pages through payments by payment_id so only one page is ever pulled from MySQL
+    private final KeysetPager pager = newPager();
+    private PaginationBar paginationBar;     // Previous/Next controls under the table
+    private LazyTableModel lazyModel;        // Scrolling model used instead of pages when enabled
 
     // Constructor
     public PaymentsPage(AdminDashboard adminDashboard) {
@@ -43,8 +55,32 @@ public class PaymentsPage extends JPanel {
         };
 
         // === Payment Table ===
-        paymentTable = new JTable(tableModel);
-        loadPaymentData(); // Load payment data from DB
+        if (LazyTableModel.ENABLED) {
+            // One scrolling table over every payment; rows are fetched around the viewport
+            lazyModel = new LazyTableModel(new String[]{
+                    "ID", "Client Name", "Amount", "Date", "Method", "Status", "Edit", "Delete"
+            }, PAYMENTS_SQL, "p.payment_id", "payment_id", "SELECT COUNT(*) FROM payments",
+                    PaymentsPage::mapRow, col -> col == 6 || col == 7);
+            paymentTable = new LoadingTable(lazyModel);
+        } else {
+            paymentTable = new LoadingTable(tableModel);
+        }
+        paymentTable.setLoadName("Payments");
+        paginationBar = new PaginationBar(pager,
+                direction -> adminDashboard.getViews().within("Payments", () -> loadPage(direction)));
+        paginationBar.setVisible(lazyModel == null);
+        loadPaymentData(); // Load payment data from DB (in the background)
+
+        // Apply writes made by the dialogs to the rows on screen instead of reloading
+        EventBus events = adminDashboard.getEvents();
+        events.subscribe(DomainEvent.PaymentChanged.class, event -> TableRows.apply(paymentTable.getModel(),
+                event.change(), event.paymentId(), event.row(), !pager.getCurrent().hasNext(),
+                () -> adminDashboard.getRefreshes().request("Payments")));
+        events.subscribe(DomainEvent.ClientChanged.class, event -> {
+            if (event.change() == DomainEvent.Change.UPDATED) {
+                TableRows.renameClient(paymentTable.getModel(), 1, new ClientRef(event.clientId(), (String) event.row()[1]));
+            }
+        });
 
         // Add button renderers and editors to the table
         paymentTable.getColumn("Edit").setCellRenderer(new PaymentButtonRenderer("Edit"));
@@ -63,6 +99,16 @@ public class PaymentsPage extends JPanel {
         gbc.weighty = 1.0;
         content.add(scrollPane, gbc);
 
+        // === Pagination Controls ===
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.weightx = 0;
+        gbc.weighty = 0;
+        content.add(paginationBar, gbc);
+
         // === Add Payment Button ===
         gbc.gridx = 1;
         gbc.gridy = 2;
@@ -77,7 +123,9 @@ public class PaymentsPage extends JPanel {
         addBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
         addBtn.setBackground(new Color(59, 89, 182)); // Blue color
         addBtn.setForeground(Color.WHITE);
-        addBtn.addActionListener(e -> new AddPaymentDialog(adminDashboard, tableModel).setVisible(true)); // Show AddPaymentDialog
+        addBtn.addActionListener(e -> {
+            new AddPaymentDialog(adminDashboard).setVisible(true); // Show AddPaymentDialog
+        });
 
         content.add(addBtn, gbc);
 
@@ -85,35 +133,53 @@ public class PaymentsPage extends JPanel {
         add(content, BorderLayout.CENTER);
     }
 
-    // === Load Payment Data from DB ===
-    public void loadPaymentData() {
-        tableModel.setRowCount(0); // Clear existing rows
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql = """
-                SELECT p.payment_id, c.name, p.amount, p.payment_date, p.method, p.status
-                FROM payments p
-                JOIN clients c ON p.client_id = c.client_id
-            """;
-
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-
-            // Add each row to the table
-            while (rs.next()) {
-                tableModel.addRow(new Object[]{
-                        rs.getInt("payment_id"),
-                        rs.getString("name"),
-                        rs.getDouble("amount"),
-                        rs.getDate("payment_date"),
-                        rs.getString("method"),
-                        rs.getString("status"),
-                        "Edit",    // Button label
-                        "Delete"   // Button label
-                });
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // === Load Payment Data from DB (reloads the page on screen) ===
+    public CompletableFuture<?> loadPaymentData() {
+        if (lazyModel != null) {
+            paymentTable.showLoading();
+            return lazyModel.refresh().whenComplete(DataAccess.onEdt(count -> paymentTable.showLoaded(),
+                    error -> paymentTable.showError("Could not load payments: " + error.getMessage())));
         }
+        return loadPage(KeysetPager.Direction.CURRENT);
+    }
+
+    // === Fetch one page of payments in the background and show it ===
+    public CompletableFuture<?> loadPage(KeysetPager.Direction direction) {
+        int ticket = loads.next();
+        paymentTable.showLoading();
+        paginationBar.setBusy(true);
+        return DataAccess.query(conn -> pager.fetch(conn, direction, PaymentsPage::mapRow)).whenComplete(DataAccess.onEdt(page -> {
+            if (!loads.isCurrent(ticket)) return;
+            pager.accept(page);
+            tableModel.setRowCount(0); // Clear existing rows
+            page.rows().forEach(tableModel::addRow);
+            paymentTable.showLoaded();
+            paginationBar.update(page);
+        }, error -> {
+            if (!loads.isCurrent(ticket) || DataAccess.isCancelled(error)) return; // Reloads when shown again
+            error.printStackTrace();
+            paymentTable.showError("Could not load payments: " + error.getMessage());
+            paginationBar.update(pager.getCurrent());
+        }));
+    }
+
+    // Pager over the payments (also used by the JMH benchmarks)
+    static KeysetPager newPager() {
+        return new KeysetPager(PAYMENTS_SQL, "p.payment_id", "payment_id", "payments");
+    }
+
+    // === Map one payments row to a table row ===
+    static Object[] mapRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+                rs.getInt("payment_id"),
+                new ClientRef(rs.getInt("client_id"), rs.getString("name")), // Renders as the name
+                rs.getDouble("amount"),
+                rs.getDate("payment_date"),
+                rs.getString("method"),
+                rs.getString("status"),
+                "Edit",    // Button label
+                "Delete"   // Button label
+        };
     }
 
     public AdminDashboard getAdminDashboard() {
@@ -160,14 +226,14 @@ class PaymentButtonEditor extends DefaultCellEditor {
         button.setBackground(actionType.equals("edit") ? new Color(77, 166, 255) : new Color(255, 102, 102));
 
         // Add ActionListener for button click
-        button.addActionListener(e -> {
+        button.addActionListener(Trace.action("Payment " + actionType, e -> {
             JTable table = (JTable) SwingUtilities.getAncestorOfClass(JTable.class, button);
             if (table != null) {
                 int viewRow = table.getSelectedRow();
                 if (viewRow < 0) return; // No row selected
 
                 int modelRow = table.convertRowIndexToModel(viewRow);
-                DefaultTableModel model = (DefaultTableModel) table.getModel();
+                TableModel model = table.getModel();
 
                 if (actionType.equals("edit")) {
                     // Open EditPaymentDialog
@@ -180,21 +246,33 @@ class PaymentButtonEditor extends DefaultCellEditor {
                             "Confirm Delete", JOptionPane.YES_NO_OPTION);
 
                     if (confirm == JOptionPane.YES_OPTION) {
-                        try (Connection conn = DBConnection.getConnection()) {
-                            PreparedStatement stmt = conn.prepareStatement("DELETE FROM payments WHERE payment_id = ?");
-                            stmt.setInt(1, paymentId);
-                            stmt.executeUpdate();
-
-                            model.removeRow(modelRow); // Remove from table
-                            paymentsPage.getAdminDashboard().updateStats(); // Refresh dashboard stats
+                        // Remember what the row contributed to the dashboard totals
+                        double amount = Double.parseDouble(model.getValueAt(modelRow, 2).toString());
+                        String status = String.valueOf(model.getValueAt(modelRow, 5));
+                        table.setEnabled(false); // Until the delete has finished in the background
+                        DataAccess.query(conn -> {
+                            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM payments WHERE payment_id = ?")) {
+                                stmt.setInt(1, paymentId);
+                                return stmt.executeUpdate();
+                            }
+                        }).whenComplete(DataAccess.onEdt(deleted -> {
+                            table.setEnabled(true);
+                            if (deleted == 0) {
+                                JOptionPane.showMessageDialog(button, "This payment no longer exists.");
+                                return; // Already deleted elsewhere; its amount is no longer in the totals
+                            }
+                            paymentsPage.getAdminDashboard().getEvents().publish(new DomainEvent.PaymentChanged(
+                                    DomainEvent.Change.DELETED, paymentId, null)); // Remove from table
+                            paymentsPage.getAdminDashboard().getStatistics().paymentDeleted(amount, status); // Refresh dashboard stats
                             JOptionPane.showMessageDialog(button, "Payment deleted.");
-                        } catch (SQLException ex) {
-                            JOptionPane.showMessageDialog(button, "Error: " + ex.getMessage());
-                        }
+                        }, error -> {
+                            table.setEnabled(true);
+                            JOptionPane.showMessageDialog(button, "Error: " + error.getMessage());
+                        }));
                     }
                 }
             }
-        });
+        }));
     }
 
     @Override
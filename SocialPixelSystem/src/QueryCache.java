@@ -0,0 +1,183 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cache of read-only query results keyed by SQL text plus bound parameters.
+// Each entry is tagged with the tables its SQL reads (FROM/JOIN). Any INSERT/UPDATE/DELETE run on a
+// pooled connection drops the entries tagged with its table as soon as the write is committed, so the
+// dialogs and editors invalidate it without doing anything. Identical requests that arrive while the first
+// one is still running share its result (single-flight) instead of each querying MySQL.
+// Cached results are shared between callers and must not be modified.
+public class QueryCache {
+    private static final long TTL_MS = Long.getLong("socialpixel.queryCache.ttlMs", 30_000);
+    private static final int MAX_ENTRIES = Integer.getInteger("socialpixel.queryCache.size", 256);
+    private static volatile boolean enabled = !Boolean.getBoolean("socialpixel.queryCache.disabled");
+
+    private static final Pattern READ_TABLES = Pattern.compile("\\b(?:FROM|JOIN)\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WRITE_TABLE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|REPLACE\\s+INTO|UPDATE|DELETE\\s+FROM)\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong COALESCED = new AtomicLong();
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+
+    private record Key(String sql, List<Object> params) {}
+
+    private record Entry(CompletableFuture<Object> result, Set<String> tables, long createdAt) {}
+
+    // Guarded by QueryCache.class
+    private static final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // Cache counters at a point in time
+    public record Stats(long hits, long misses, long coalesced, long invalidations, int size) {
+        public double hitRate() {
+            long total = hits + coalesced + misses;
+            return total == 0 ? 0 : (double) (hits + coalesced) / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d coalesced=%d misses=%d invalidations=%d size=%d hitRate=%.1f%%",
+                    hits, coalesced, misses, invalidations, size, hitRate() * 100);
+        }
+    }
+
+    // Cached result, or run 'work' on a borrowed connection in the background.
+    // 'work' must run exactly 'sql' with 'params'.
+    public static <T> CompletableFuture<T> query(String sql, List<?> params, DataAccess.SqlWork<T> work) {
+        if (!enabled) return DataAccess.query(work);
+        Claim claim = claim(sql, params);
+        if (claim.owner()) {
+            DataAccess.query(work).whenComplete((result, error) -> settle(claim, result, error));
+        }
+        return cast(claim.entry().result().copy()); // Callers cannot complete the shared future
+    }
+
+    // Same as query(), for code already running off the EDT with a connection in hand
+    public static <T> T get(Connection conn, String sql, List<?> params, DataAccess.SqlWork<T> work) throws SQLException {
+        if (!enabled) return work.run(conn);
+        Claim claim = claim(sql, params);
+        if (claim.owner()) {
+            try {
+                T result = work.run(conn);
+                settle(claim, result, null);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                settle(claim, null, e);
+                throw e;
+            }
+        }
+        try {
+            return cast(claim.entry().result().join());
+        } catch (CompletionException e) {
+            Throwable cause = DataAccess.unwrap(e);
+            if (cause instanceof SQLException failure) throw failure;
+            throw e;
+        }
+    }
+
+    // Drop every entry that reads any of these tables
+    public static void invalidate(Collection<String> tables) {
+        if (tables.isEmpty()) return;
+        Set<String> lower = new HashSet<>();
+        for (String table : tables) lower.add(table.toLowerCase(Locale.ROOT));
+        synchronized (QueryCache.class) {
+            entries.values().removeIf(entry -> {
+                for (String table : entry.tables()) {
+                    if (lower.contains(table)) {
+                        INVALIDATIONS.incrementAndGet();
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+    }
+
+    // Table an INSERT/UPDATE/DELETE writes to, or null for any other statement
+    public static String tableWrittenBy(String sql) {
+        Matcher m = WRITE_TABLE.matcher(sql);
+        return m.find() ? m.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+
+    public static synchronized void clear() {
+        entries.clear();
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        if (!on) clear();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized Stats getStats() {
+        return new Stats(HITS.get(), MISSES.get(), COALESCED.get(), INVALIDATIONS.get(), entries.size());
+    }
+
+    public static void resetStats() {
+        HITS.set(0);
+        MISSES.set(0);
+        COALESCED.set(0);
+        INVALIDATIONS.set(0);
+    }
+
+    // The entry for this request, and whether the caller must run the query for it
+    private record Claim(Key key, Entry entry, boolean owner) {}
+
+    private static synchronized Claim claim(String sql, List<?> params) {
+        Key key = new Key(sql, List.copyOf(params));
+        Entry entry = entries.get(key);
+        if (entry != null && (!entry.result().isDone() || System.currentTimeMillis() - entry.createdAt() <= TTL_MS)) {
+            (entry.result().isDone() ? HITS : COALESCED).incrementAndGet();
+            return new Claim(key, entry, false);
+        }
+        MISSES.incrementAndGet();
+        entry = new Entry(new CompletableFuture<>(), tablesReadBy(sql), System.currentTimeMillis());
+        entries.put(key, entry);
+        return new Claim(key, entry, true);
+    }
+
+    // Complete the shared result; failures are not cached
+    private static void settle(Claim claim, Object result, Throwable error) {
+        if (error != null) {
+            synchronized (QueryCache.class) {
+                entries.remove(claim.key(), claim.entry());
+            }
+            claim.entry().result().completeExceptionally(DataAccess.unwrap(error));
+        } else {
+            claim.entry().result().complete(result);
+        }
+    }
+
+    private static Set<String> tablesReadBy(String sql) {
+        Set<String> tables = new HashSet<>();
+        Matcher m = READ_TABLES.matcher(sql);
+        while (m.find()) tables.add(m.group(1).toLowerCase(Locale.ROOT));
+        return tables;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
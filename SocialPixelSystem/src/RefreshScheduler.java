@@ -0,0 +1,149 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+// Coalesces refresh requests per target (the statistic cards, each table view).
+// A request opens a short quiet window and every further request for the same target inside it is
+// merged into the one refresh that runs when the window closes. While a target's refresh is running,
+// new requests only mark it dirty and a single follow-up runs after it completes, so a burst of writes
+// costs at most two refreshes per target and two refreshes of the same target never overlap.
+// All state is confined to the EDT; request() and refreshNow() may be called from any thread.
+public class RefreshScheduler {
+    private static final int WINDOW_MS = Integer.getInteger("socialpixel.refresh.windowMs", 250);
+    // A steady stream of requests still refreshes at least this often
+    private static final int MAX_DELAY_MS = Integer.getInteger("socialpixel.refresh.maxDelayMs", 1_000);
+
+    private final Map<String, Target> targets = new HashMap<>();
+    private boolean stopped;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+
+    // Counters at a point in time; coalesced requests are the refreshes that did not run
+    public record Stats(long requests, long coalesced, long runs) {
+        @Override
+        public String toString() {
+            return String.format("requests=%d coalesced=%d runs=%d", requests, coalesced, runs);
+        }
+    }
+
+    // Register how to refresh a target; the future completes when the refresh has finished
+    public void register(String name, Supplier<? extends CompletableFuture<?>> refresh) {
+        onEdt(() -> targets.put(name, new Target(refresh)));
+    }
+
+    // Refresh a target once the quiet window has passed
+    public void request(String name) {
+        requests.incrementAndGet();
+        onEdt(() -> target(name).request());
+    }
+
+    // Refresh a target now (e.g. the first load), or right after the refresh that is running
+    public void refreshNow(String name) {
+        requests.incrementAndGet();
+        onEdt(() -> target(name).refreshNow());
+    }
+
+    // Drop everything that is waiting; refreshes already running finish but do not repeat
+    public void stop() {
+        onEdt(() -> {
+            stopped = true;
+            targets.values().forEach(Target::cancel);
+        });
+    }
+
+    public Stats getStats() {
+        return new Stats(requests.get(), coalesced.get(), runs.get());
+    }
+
+    private Target target(String name) {
+        Target target = targets.get(name);
+        if (target == null) throw new IllegalArgumentException("Unknown refresh target: " + name);
+        return target;
+    }
+
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
+    // One refresh target and its pending/running state
+    private final class Target {
+        private final Supplier<? extends CompletableFuture<?>> refresh;
+        private final Timer timer;
+        private long windowOpenedAt;
+        private boolean running;
+        private boolean dirty; // Requested again while running
+
+        Target(Supplier<? extends CompletableFuture<?>> refresh) {
+            this.refresh = refresh;
+            this.timer = new Timer(WINDOW_MS, e -> run());
+            timer.setRepeats(false);
+        }
+
+        void request() {
+            if (stopped) return;
+            if (running) {
+                if (dirty) coalesced.incrementAndGet();
+                dirty = true;
+                return;
+            }
+            if (timer.isRunning()) {
+                coalesced.incrementAndGet();
+                // Push the window back, but not past MAX_DELAY_MS from the first request
+                if (System.currentTimeMillis() - windowOpenedAt + WINDOW_MS <= MAX_DELAY_MS) timer.restart();
+                return;
+            }
+            windowOpenedAt = System.currentTimeMillis();
+            timer.restart();
+        }
+
+        void refreshNow() {
+            if (stopped) return;
+            if (running) {
+                if (dirty) coalesced.incrementAndGet();
+                dirty = true;
+                return;
+            }
+            if (timer.isRunning()) coalesced.incrementAndGet(); // The pending refresh is superseded by this one
+            run();
+        }
+
+        void cancel() {
+            timer.stop();
+            dirty = false;
+        }
+
+        private void run() {
+            timer.stop();
+            if (stopped) return;
+            running = true;
+            dirty = false;
+            runs.incrementAndGet();
+            CompletableFuture<?> done;
+            try {
+                done = refresh.get();
+            } catch (RuntimeException e) {
+                done = CompletableFuture.failedFuture(e);
+            }
+            done.whenComplete((result, error) -> onEdt(this::finished));
+        }
+
+        private void finished() {
+            running = false;
+            if (dirty && !stopped) {
+                dirty = false;
+                windowOpenedAt = System.currentTimeMillis();
+                timer.restart();
+            }
+        }
+    }
+}
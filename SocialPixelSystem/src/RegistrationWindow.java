@@ -1,9 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.sql.Statement;
 
 // This class handles user registration for SocialPixel
@@ -67,7 +65,7 @@ public class RegistrationWindow extends JFrame {
         add(buttonPanel, BorderLayout.SOUTH);
 
         // Action listeners
-        registerButton.addActionListener(e -> registerClient());
+        registerButton.addActionListener(Trace.action("Register", e -> registerClient()));
         backButton.addActionListener(e -> {
             dispose(); // Close registration window
             new LoginWindow().setVisible(true); // Go back to login
@@ -95,12 +93,9 @@ public class RegistrationWindow extends JFrame {
         String requirement = requirementField.getText().trim();
 
         // === Validations ===
-        if (nic.isEmpty() || name.isEmpty() || username.isEmpty() || password.isEmpty() || industry.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "NIC, Name, Username, Password, and Industry are required!", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-        if (!email.isEmpty() && !email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
-            JOptionPane.showMessageDialog(this, "Invalid email format!", "Error", JOptionPane.ERROR_MESSAGE);
+        String problem = ClientRules.check(nic, name, email, username, password, industry);
+        if (problem != null) {
+            JOptionPane.showMessageDialog(this, problem, "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
         if (requirement.isEmpty()) {
@@ -108,50 +103,49 @@ public class RegistrationWindow extends JFrame {
             return;
         }
 
-        // === Database Insertion ===
-        try (Connection conn = DatabaseConnection.getConnection()) {
+        // === Database Insertion (in the background; the form is disabled until it finishes) ===
+        setEnabled(false);
+        DataAccess.query(conn -> {
             // Check if NIC already exists
-            PreparedStatement checkNic = conn.prepareStatement("SELECT COUNT(*) FROM clients WHERE nic = ?");
-            checkNic.setString(1, nic);
-            ResultSet rsNic = checkNic.executeQuery();
-            rsNic.next();
-            if (rsNic.getInt(1) > 0) {
-                JOptionPane.showMessageDialog(this, "NIC already exists!", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
+            try (PreparedStatement checkNic = conn.prepareStatement("SELECT COUNT(*) FROM clients WHERE nic = ?")) {
+                checkNic.setString(1, nic);
+                try (ResultSet rsNic = checkNic.executeQuery()) {
+                    rsNic.next();
+                    if (rsNic.getInt(1) > 0) return "NIC already exists!";
+                }
             }
 
             // Check if username is already taken
-            PreparedStatement checkUsername = conn.prepareStatement("SELECT COUNT(*) FROM clients WHERE username = ?");
-            checkUsername.setString(1, username);
-            ResultSet rsUsername = checkUsername.executeQuery();
-            rsUsername.next();
-            if (rsUsername.getInt(1) > 0) {
-                JOptionPane.showMessageDialog(this, "Username already exists!", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
+            try (PreparedStatement checkUsername = conn.prepareStatement("SELECT COUNT(*) FROM clients WHERE username = ?")) {
+                checkUsername.setString(1, username);
+                try (ResultSet rsUsername = checkUsername.executeQuery()) {
+                    rsUsername.next();
+                    if (rsUsername.getInt(1) > 0) return "Username already exists!";
+                }
             }
 
             // Insert new client into `clients` table
-            PreparedStatement stmt = conn.prepareStatement(
-                "INSERT INTO clients (nic, nic_encrypted, name, email, phone, contact_info, industry, username, password) VALUES (?, SHA2(?, 256), ?, ?, ?, ?, ?, ?, ?)",
-                Statement.RETURN_GENERATED_KEYS
-            );
-            stmt.setString(1, nic);
-            stmt.setString(2, nic); // For SHA2 encryption
-            stmt.setString(3, name);
-            stmt.setString(4, email.isEmpty() ? null : email);
-            stmt.setString(5, phone.isEmpty() ? null : phone);
-            stmt.setString(6, phone.isEmpty() ? null : phone); // Storing phone as contact_info
-            stmt.setString(7, industry);
-            stmt.setString(8, username);
-            stmt.setString(9, password); // NOTE: In production, hash passwords!
-
-            stmt.executeUpdate();
-
-            // Get auto-generated client_id
             int newClientId = -1;
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    newClientId = generatedKeys.getInt(1);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO clients (nic, nic_encrypted, name, email, phone, contact_info, industry, username, password) VALUES (?, SHA2(?, 256), ?, ?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, nic);
+                stmt.setString(2, nic); // For SHA2 encryption
+                stmt.setString(3, name);
+                stmt.setString(4, email.isEmpty() ? null : email);
+                stmt.setString(5, phone.isEmpty() ? null : phone);
+                stmt.setString(6, phone.isEmpty() ? null : phone); // Storing phone as contact_info
+                stmt.setString(7, industry);
+                stmt.setString(8, username);
+                stmt.setString(9, password); // NOTE: In production, hash passwords!
+
+                stmt.executeUpdate();
+
+                // Get auto-generated client_id
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        newClientId = generatedKeys.getInt(1);
+                    }
                 }
             }
 
@@ -163,6 +157,13 @@ public class RegistrationWindow extends JFrame {
                     reqStmt.executeUpdate();
                 }
             }
+            return null;
+        }).whenComplete(DataAccess.onEdt(rejected -> {
+            if (rejected != null) {
+                setEnabled(true);
+                JOptionPane.showMessageDialog(this, rejected, "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             // === Success Message ===
             JOptionPane.showMessageDialog(this, "Registration successful!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -170,9 +171,9 @@ public class RegistrationWindow extends JFrame {
             // Redirect to Login with filled credentials
             dispose();
             new LoginWindow(username, password).setVisible(true);
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error registering client: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, error -> {
+            setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Error registering client: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }));
     }
 }
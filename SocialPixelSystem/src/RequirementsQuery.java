@@ -0,0 +1,35 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// The admin Requirements view's query, in its own file so the benchmarks can run it too
+public class RequirementsQuery {
+    static final String SQL = "SELECT r.id, COALESCE(c.name, '') AS client_name, r.requirement, r.admin_response, r.submitted_at "
+            + "FROM requirements r LEFT JOIN clients c ON r.client_id = c.client_id "
+            + "ORDER BY r.submitted_at DESC";
+
+    private RequirementsQuery() {
+    }
+
+    // Read every requirement with its client's name in one joined query (one round-trip per load)
+    static List<Object[]> fetch(Connection conn) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                rows.add(new Object[]{
+                    rs.getInt("id"),
+                    rs.getString("client_name"),
+                    rs.getString("requirement"),
+                    rs.getString("admin_response"),
+                    rs.getTimestamp("submitted_at"),
+                    "Reply"
+                });
+            }
+        }
+        return rows;
+    }
+}
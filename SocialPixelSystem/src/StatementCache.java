@@ -0,0 +1,221 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// LRU cache of prepared statements for one pooled physical connection, keyed by SQL text.
+// A cached statement is checked out to one caller at a time; closing it checks it back in.
+public class StatementCache {
+    private static final int MAX_STATEMENTS = Integer.getInteger("socialpixel.statementCache.size", 32);
+    private static volatile boolean enabled = !Boolean.getBoolean("socialpixel.statementCache.disabled");
+
+    // Counters across every connection in the pool
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private final Connection physical;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= MAX_STATEMENTS) return false;
+            EVICTIONS.incrementAndGet();
+            eldest.getValue().evict();
+            return true;
+        }
+    };
+
+    public StatementCache(Connection physical) {
+        this.physical = physical;
+    }
+
+    // Prepare through the cache; 'owner' is the connection proxy the caller sees
+    public synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        if (!enabled) {
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            HITS.incrementAndGet();
+            return entry.checkOut(owner);
+        }
+        MISSES.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null) {
+            // Same SQL is already checked out (nested use); hand out a private statement
+            return statement;
+        }
+        entry = new Entry(key, statement);
+        entries.put(key, entry);
+        return entry.checkOut(owner);
+    }
+
+    // Close every cached statement (the physical connection is going away)
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.evict();
+        }
+        entries.clear();
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Stats getStats() {
+        return new Stats(HITS.get(), MISSES.get(), EVICTIONS.get());
+    }
+
+    public static void resetStats() {
+        HITS.set(0);
+        MISSES.set(0);
+        EVICTIONS.set(0);
+    }
+
+    // Hit/miss counters at a point in time
+    public record Stats(long hits, long misses, long evictions) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d evictions=%d hitRate=%.1f%%", hits, misses, evictions, hitRate() * 100);
+        }
+    }
+
+    // One cached statement and its checkout state
+    private final class Entry {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement checkOut(Connection owner) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new Checkout(this, owner));
+        }
+
+        // Called by the checkout proxy on close()
+        void checkIn(boolean dirty) {
+            synchronized (StatementCache.this) {
+                inUse = false;
+                if (evicted || dirty) {
+                    if (!evicted) entries.remove(key);
+                    closeQuietly();
+                }
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) closeQuietly();
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Statement is being discarded either way
+            }
+        }
+    }
+
+    // Proxy handler for one checkout of a cached statement
+    private static final class Checkout implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private final List<ResultSet> results = new ArrayList<>();
+        private boolean closed;
+        private boolean tuned;   // setQueryTimeout/setMaxRows/setFetchSize were changed
+        private boolean dirty;   // Other statement-level state was changed; do not reuse
+
+        Checkout(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        checkIn();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || entry.statement.isClosed();
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Cached[" + entry.statement + "]";
+                }
+                case "setQueryTimeout", "setMaxRows", "setLargeMaxRows", "setFetchSize" -> tuned = true;
+                case "setMaxFieldSize", "setEscapeProcessing", "setCursorName", "setFetchDirection",
+                     "setPoolable", "closeOnCompletion", "addBatch" -> dirty = true;
+                default -> { }
+            }
+            if (closed) throw new SQLException("Statement is closed");
+            Object result;
+            try {
+                result = method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet rs) results.add(rs);
+            return result;
+        }
+
+        // Put the statement back in a clean state before the next caller sees it
+        private void checkIn() {
+            boolean reusable = !dirty;
+            try {
+                for (ResultSet rs : results) rs.close();
+                entry.statement.clearParameters();
+                entry.statement.clearWarnings();
+                if (tuned) {
+                    entry.statement.setQueryTimeout(0);
+                    entry.statement.setMaxRows(0);
+                    entry.statement.setFetchSize(0);
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+            results.clear();
+            entry.checkIn(!reusable);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+
+// Targeted row updates for the admin tables, which all keep the row's ID in column 0.
+// Used by the views to apply a DomainEvent to the rows on screen instead of re-querying the table.
+public class TableRows {
+    // Apply an add/update/delete of the row with 'id'; 'appendAdded' says whether a new row belongs on this page.
+    // 'reload' is called instead when the change cannot be applied in place.
+    public static void apply(TableModel model, DomainEvent.Change change, int id, Object[] row, boolean appendAdded,
+                             Runnable reload) {
+        if (model instanceof LazyTableModel lazyModel) {
+            if (change == DomainEvent.Change.UPDATED) {
+                lazyModel.updateRow(id, row);
+            } else {
+                reload.run(); // Inserts and deletes shift every row after them
+            }
+            return;
+        }
+        DefaultTableModel table = (DefaultTableModel) model;
+        int index = indexOf(table, id);
+        switch (change) {
+            case ADDED -> {
+                if (index < 0 && appendAdded) table.addRow(row);
+            }
+            case UPDATED -> {
+                if (index >= 0) setRow(table, index, row);
+            }
+            case DELETED -> {
+                if (index >= 0) table.removeRow(index);
+            }
+        }
+    }
+
+    // Show a client's new name wherever the table holds a ClientRef for it
+    public static void renameClient(TableModel model, int column, ClientRef client) {
+        if (model instanceof LazyTableModel lazyModel) {
+            lazyModel.updateColumn(column, value -> sameClient(value, client) ? client : value);
+            return;
+        }
+        for (int i = 0; i < model.getRowCount(); i++) {
+            if (sameClient(model.getValueAt(i, column), client)) model.setValueAt(client, i, column);
+        }
+    }
+
+    // Row whose column 0 holds 'id', or -1
+    public static int indexOf(TableModel model, int id) {
+        for (int i = 0; i < model.getRowCount(); i++) {
+            if (model.getValueAt(i, 0) instanceof Integer key && key == id) return i;
+        }
+        return -1;
+    }
+
+    // Overwrite the cells that changed (one update event per changed cell)
+    static void setRow(TableModel model, int index, Object[] row) {
+        for (int column = 0; column < row.length && column < model.getColumnCount(); column++) {
+            Object old = model.getValueAt(index, column);
+            if (old == null ? row[column] != null : !old.equals(row[column])) {
+                model.setValueAt(row[column], index, column);
+            }
+        }
+    }
+
+    private static boolean sameClient(Object value, ClientRef client) {
+        return value instanceof ClientRef ref && ref.id() == client.id() && !ref.equals(client);
+    }
+}
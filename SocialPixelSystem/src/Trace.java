@@ -0,0 +1,243 @@
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+// Lightweight tracing from a UI action down to the SQL it runs, written as Chrome trace-event JSON
+// (open the file in chrome://tracing or ui.perfetto.dev).
+// A root span is opened at each UI entry point (sidebar, Save buttons, table button editors, login);
+// a sampled root makes its trace current on the thread, and DataAccess carries it to the background
+// thread and back to the EDT callback, so the nested spans (connection acquire, execute, ResultSet
+// iteration, view update) land in the same trace. Without a current trace span() costs one ThreadLocal read.
+// Finished spans go into a bounded buffer (oldest dropped) that is written to FILE every few seconds and on exit.
+public class Trace {
+    private static final String FILE = System.getProperty("socialpixel.trace.file"); // Tracing is off when unset
+    private static final double SAMPLE_RATE = Double.parseDouble(System.getProperty("socialpixel.trace.sampleRate", "1.0"));
+    private static final int MAX_EVENTS = Integer.getInteger("socialpixel.trace.maxEvents", 50_000);
+    private static final long FLUSH_INTERVAL_MS = 5_000;
+
+    private static final Logger LOG = Logger.getLogger(Trace.class.getName());
+
+    public static final boolean ENABLED = FILE != null && SAMPLE_RATE > 0;
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final AtomicLong nextTraceId = new AtomicLong();
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+    private static final Deque<Event> events = new ArrayDeque<>(); // Guarded by itself
+    private static final AtomicLong dropped = new AtomicLong();
+    private static boolean dirty; // Guarded by 'events'
+
+    // One sampled trace: an ID and the UI action that started it
+    public record Context(long traceId, String action) {}
+
+    // A finished span
+    private record Event(String name, String category, long startNanos, long durationNanos,
+                         long threadId, String threadName, long traceId, Map<String, Object> args) {}
+
+    static {
+        if (ENABLED) {
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "trace-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(Trace::flushQuietly, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(Trace::flushQuietly, "trace-flush-on-exit"));
+        }
+    }
+
+    // Open the root span of a UI action; the trace is sampled at SAMPLE_RATE
+    public static Span root(String action) {
+        if (!ENABLED || CURRENT.get() != null) return span(action, "ui");
+        if (SAMPLE_RATE < 1 && ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE) return Span.NONE;
+        CURRENT.set(new Context(nextTraceId.incrementAndGet(), action));
+        return new Span(action, "ui", CURRENT::remove);
+    }
+
+    // Listener that runs 'listener' under a root span named 'name' (and records it as a JFR UiAction event)
+    public static ActionListener action(String name, ActionListener listener) {
+        return e -> {
+            AppEvents.UiAction event = new AppEvents.UiAction();
+            event.begin();
+            Span span = root(name);
+            try {
+                listener.actionPerformed(e);
+            } finally {
+                span.close();
+                if (event.shouldCommit()) {
+                    event.action = name;
+                    event.window = AppEvents.windowOf(e.getSource());
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    // Open a span nested in the current trace (a no-op outside a sampled trace)
+    public static Span span(String name, String category) {
+        if (CURRENT.get() == null) return Span.NONE;
+        return new Span(name, category, null);
+    }
+
+    // Trace of the code running on this thread, or null
+    public static Context current() {
+        return CURRENT.get();
+    }
+
+    // Run 'action' as part of 'trace' (null runs it outside any trace)
+    public static <T> T within(Context trace, Supplier<T> action) {
+        if (trace == null && CURRENT.get() == null) return action.get();
+        Context previous = CURRENT.get();
+        CURRENT.set(trace);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void within(Context trace, Runnable action) {
+        within(trace, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Write the buffered spans to 'file' as a Chrome trace (replacing it)
+    public static void writeTo(Path file) throws IOException {
+        List<Event> snapshot;
+        synchronized (events) {
+            snapshot = new ArrayList<>(events);
+            dirty = false;
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        List<String> lines = new ArrayList<>(snapshot.size() + 16);
+        Map<Long, String> threads = new LinkedHashMap<>();
+        for (Event e : snapshot) {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                    "{\"name\":%s,\"cat\":%s,\"ph\":\"X\",\"ts\":%.3f,\"dur\":%.3f,\"pid\":1,\"tid\":%d,\"args\":{\"trace\":%d",
+                    json(e.name()), json(e.category()), (e.startNanos() - ORIGIN) / 1e3, e.durationNanos() / 1e3,
+                    e.threadId(), e.traceId()));
+            for (Map.Entry<String, Object> arg : e.args().entrySet()) {
+                line.append(',').append(json(arg.getKey())).append(':')
+                        .append(arg.getValue() instanceof Number n ? n.toString() : json(String.valueOf(arg.getValue())));
+            }
+            lines.add(line.append("}}").toString());
+            threads.putIfAbsent(e.threadId(), e.threadName());
+        }
+        // Name the threads in the viewer
+        threads.forEach((id, name) -> lines.add("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + id
+                + ",\"args\":{\"name\":" + json(name) + "}}"));
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("{\"displayTimeUnit\":\"ms\",\"otherData\":{\"droppedEvents\":" + dropped.get() + "},\"traceEvents\":[\n");
+            out.write(String.join(",\n", lines));
+            out.write("\n]}\n");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void flushQuietly() {
+        synchronized (events) {
+            if (!dirty) return;
+        }
+        try {
+            writeTo(Paths.get(FILE));
+        } catch (IOException e) {
+            LOG.warning("Could not write trace file " + FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static void record(Event event) {
+        synchronized (events) {
+            if (events.size() == MAX_EVENTS) {
+                events.removeFirst();
+                dropped.incrementAndGet();
+            }
+            events.addLast(event);
+            dirty = true;
+        }
+    }
+
+    private static String json(String s) {
+        StringBuilder out = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                    else out.append(c);
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    // An open span; close() records it (use try-with-resources)
+    public static final class Span implements AutoCloseable {
+        static final Span NONE = new Span();
+
+        private final String name;
+        private final String category;
+        private final long start;
+        private final Context trace;
+        private final Runnable onClose;
+        private Map<String, Object> args;
+
+        private Span() {
+            this.name = null;
+            this.category = null;
+            this.start = 0;
+            this.trace = null;
+            this.onClose = null;
+        }
+
+        private Span(String name, String category, Runnable onClose) {
+            this.name = name;
+            this.category = category;
+            this.trace = CURRENT.get();
+            this.onClose = onClose;
+            this.start = System.nanoTime();
+        }
+
+        // Attach a value shown with the span in the viewer
+        public Span arg(String key, Object value) {
+            if (trace == null) return this;
+            if (args == null) args = new LinkedHashMap<>();
+            args.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (trace == null) return;
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName().isEmpty() ? "virtual-" + thread.threadId() : thread.getName();
+            record(new Event(name, category, start, System.nanoTime() - start, thread.threadId(), threadName,
+                    trace.traceId(), args == null ? Map.of() : args));
+            if (onClose != null) onClose.run();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.awt.CardLayout;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+// Views of a CardLayout panel, built on first show and reloaded only when their data is stale.
+// A view loads its own data when it is constructed, so the first show costs one load, and later
+// shows reuse it until markStale() is called for it or it is older than MAX_AGE_MS.
+// Each view's loads run under its own CancelToken; showing another view cancels them, and a view
+// whose load was cut short this way reloads when it is shown again.
+public class ViewRegistry {
+    // Reload a view on show once its data is this old, to pick up changes made elsewhere (0 = never)
+    private static final long MAX_AGE_MS = Long.getLong("socialpixel.views.maxAgeMs", 60_000);
+
+    private final JPanel container;
+    private final CardLayout layout;
+    private final Map<String, Entry<?>> entries = new HashMap<>();
+    private Entry<?> showing;
+    private String showingName;
+
+    public ViewRegistry(JPanel container, CardLayout layout) {
+        this.container = container;
+        this.layout = layout;
+    }
+
+    // Add a view that is built up front (e.g. the first card)
+    public void add(String name, JComponent view) {
+        Entry<JComponent> entry = new Entry<>(() -> view, v -> { });
+        entries.put(name, entry);
+        CancelToken.within(entry.token, () -> entry.build(name));
+        if (showing == null) { // The first card added is the one on screen
+            showing = entry;
+            showingName = name;
+        }
+    }
+
+    // Register a view to be built by 'factory' on first show and refreshed by 'reload' when stale
+    public <V extends JComponent> void register(String name, Supplier<V> factory, Consumer<? super V> reload) {
+        entries.put(name, new Entry<>(factory, reload));
+    }
+
+    // Show a view, building it or reloading its data first if needed (recorded as a JFR ViewSwitch event)
+    public void show(String name) {
+        Entry<?> entry = entries.get(name);
+        if (entry == null) throw new IllegalArgumentException("Unknown view: " + name);
+        AppEvents.ViewSwitch event = new AppEvents.ViewSwitch();
+        event.begin();
+        if (showing != null && showing != entry) showing.leave();
+        String previous = showingName;
+        showing = entry;
+        showingName = name;
+        boolean reloaded = CancelToken.within(entry.token, () -> entry.prepare(name));
+        layout.show(container, name);
+        if (event.shouldCommit()) {
+            event.view = name;
+            event.previousView = previous;
+            event.reloaded = reloaded;
+            event.window = AppEvents.windowOf(container);
+            event.commit();
+        }
+    }
+
+    // Run a load for a view (e.g. paging, a scheduled refresh) so that leaving the view cancels it
+    public <T> T within(String name, Supplier<T> load) {
+        Entry<?> entry = entries.get(name);
+        if (entry == null) throw new IllegalArgumentException("Unknown view: " + name);
+        return CancelToken.within(entry.token, load);
+    }
+
+    // The view if it has been built, otherwise null (nothing to update yet)
+    public <V extends JComponent> V get(String name, Class<V> type) {
+        Entry<?> entry = entries.get(name);
+        return entry == null || entry.view == null ? null : type.cast(entry.view);
+    }
+
+    // The view's data changed elsewhere; reload it next time it is shown
+    public void markStale(String name) {
+        Entry<?> entry = entries.get(name);
+        if (entry != null) entry.stale = true;
+    }
+
+    // One registered view and its freshness
+    private final class Entry<V extends JComponent> {
+        private final Supplier<V> factory;
+        private final Consumer<? super V> reload;
+        private V view;
+        private long loadedAt;
+        private boolean stale;
+        private CancelToken token = new CancelToken();
+
+        Entry(Supplier<V> factory, Consumer<? super V> reload) {
+            this.factory = factory;
+            this.reload = reload;
+        }
+
+        void build(String name) {
+            view = factory.get(); // The constructor starts the first load
+            container.add(view, name);
+            loadedAt = System.currentTimeMillis();
+        }
+
+        // Returns whether the view was built or reloaded
+        boolean prepare(String name) {
+            boolean loaded = true;
+            if (view == null) {
+                build(name);
+            } else if (stale || (MAX_AGE_MS > 0 && System.currentTimeMillis() - loadedAt > MAX_AGE_MS)) {
+                reload.accept(view);
+                loadedAt = System.currentTimeMillis();
+            } else {
+                loaded = false;
+            }
+            stale = false;
+            return loaded;
+        }
+
+        // Navigated away: stop the view's loads, and reload it next time if one was cut short
+        void leave() {
+            if (token.cancel()) stale = true;
+            token = new CancelToken();
+        }
+    }
+}